@@ -18,10 +18,6 @@ package com.skydoves.colorpickerviewdemo;
 
 import android.annotation.SuppressLint;
 import android.content.Intent;
-import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
-import android.graphics.drawable.BitmapDrawable;
-import android.graphics.drawable.Drawable;
 import android.net.Uri;
 import android.os.Bundle;
 import android.view.View;
@@ -40,8 +36,6 @@ import com.skydoves.colorpickerview.sliders.BrightnessSlideBar;
 import com.skydoves.powermenu.OnMenuItemClickListener;
 import com.skydoves.powermenu.PowerMenu;
 import com.skydoves.powermenu.PowerMenuItem;
-import java.io.FileNotFoundException;
-import java.io.InputStream;
 import timber.log.Timber;
 
 public class MainActivity extends AppCompatActivity {
@@ -170,16 +164,9 @@ public class MainActivity extends AppCompatActivity {
 
     // user choose a picture from gallery
     if (requestCode == 1000 && resultCode == RESULT_OK) {
-      try {
-        final Uri imageUri = data.getData();
-        if (imageUri != null) {
-          final InputStream imageStream = getContentResolver().openInputStream(imageUri);
-          final Bitmap selectedImage = BitmapFactory.decodeStream(imageStream);
-          Drawable drawable = new BitmapDrawable(getResources(), selectedImage);
-          colorPickerView.setPaletteDrawable(drawable);
-        }
-      } catch (FileNotFoundException e) {
-        e.printStackTrace();
+      final Uri imageUri = data.getData();
+      if (imageUri != null) {
+        colorPickerView.setPaletteFromUri(imageUri);
       }
     }
   }
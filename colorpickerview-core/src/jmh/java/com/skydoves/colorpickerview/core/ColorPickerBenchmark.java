@@ -0,0 +1,97 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * ColorPickerBenchmark measures the color math and the geometry on the touch path of the picker.
+ * Run it by {@code ./gradlew :colorpickerview-core:jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColorPickerBenchmark {
+
+  private static final int SIZE = 1024;
+  private static final float RADIUS = 500f;
+
+  private final int[] colors = new int[SIZE];
+  private final long[] states = new long[SIZE];
+  private final float[] points = new float[SIZE * 2];
+  private final float[] hsv = new float[3];
+  private final float[] point = new float[2];
+  private int index;
+
+  @Setup
+  public void setUp() {
+    long seed = 42;
+    for (int i = 0; i < SIZE; i++) {
+      seed = seed * 6364136223846793005L + 1442695040888963407L;
+      colors[i] = 0xFF000000 | (int) (seed >>> 40);
+      states[i] = ColorState.fromColor(colors[i]);
+      points[i * 2] = (seed >>> 20 & 0x3FF) * (2 * RADIUS / 0x3FF);
+      points[i * 2 + 1] = (seed >>> 30 & 0x3FF) * (2 * RADIUS / 0x3FF);
+    }
+  }
+
+  private int next() {
+    index = (index + 1) & (SIZE - 1);
+    return index;
+  }
+
+  @Benchmark
+  public long fromColor() {
+    return ColorState.fromColor(colors[next()]);
+  }
+
+  @Benchmark
+  public int toColor() {
+    return ColorState.toColor(states[next()]);
+  }
+
+  @Benchmark
+  public float colorToHsv() {
+    ColorState.colorToHsv(colors[next()], hsv);
+    return hsv[0];
+  }
+
+  @Benchmark
+  public int wheelColorAt() {
+    int i = next();
+    return HsvWheel.colorAt(RADIUS, RADIUS, RADIUS, points[i * 2], points[i * 2 + 1]);
+  }
+
+  @Benchmark
+  public float wheelPointOf() {
+    HsvWheel.pointOf(colors[next()], RADIUS, RADIUS, RADIUS, hsv, point);
+    return point[0];
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+/**
+ * Clock is a source of the monotonic time used by the {@link DispatchPolicy}. The Android views
+ * use the uptime of the system, and a fake clock can be used on the JVM.
+ */
+public interface Clock {
+
+  /** the clock based on the {@link System#nanoTime()}. */
+  Clock SYSTEM = () -> System.nanoTime() / 1_000_000L;
+
+  /**
+   * gets the current time.
+   *
+   * @return the current time in milliseconds.
+   */
+  long uptimeMillis();
+}
@@ -0,0 +1,160 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ColorPickerModel is the view-independent state of a color picker. It assembles the selected
+ * color through the {@link ColorStage}s such as the sliders, and decides the dispatch timing by
+ * the {@link DispatchPolicy} on a {@link Clock}. The palette geometry is provided by the {@link
+ * HsvWheel} and the color math by the {@link ColorState}.
+ *
+ * <p>The model is not thread-safe and it should be used on a single thread.
+ */
+public final class ColorPickerModel {
+
+  private final Clock clock;
+  private final DispatchPolicy dispatchPolicy;
+  private final List<ColorStage> stages = new ArrayList<>();
+  private long colorState;
+  @ColorInt private int colorStateColor;
+  private boolean hasColorState = false;
+  @ColorInt private int assembledPureColor;
+  private boolean isAssembled = false;
+
+  public ColorPickerModel() {
+    this(Clock.SYSTEM);
+  }
+
+  public ColorPickerModel(@NonNull Clock clock) {
+    this.clock = clock;
+    this.dispatchPolicy = new DispatchPolicy(clock);
+  }
+
+  public @NonNull Clock getClock() {
+    return clock;
+  }
+
+  public @NonNull DispatchPolicy getDispatchPolicy() {
+    return dispatchPolicy;
+  }
+
+  /**
+   * sets the stages of the slider assembly. the stages are applied in the order of the list.
+   *
+   * @param stages list of the {@link ColorStage}.
+   */
+  public void setStages(@NonNull List<? extends ColorStage> stages) {
+    this.stages.clear();
+    this.stages.addAll(stages);
+    this.isAssembled = false;
+  }
+
+  public @NonNull List<ColorStage> getStages() {
+    return Collections.unmodifiableList(stages);
+  }
+
+  public boolean hasStages() {
+    return !stages.isEmpty();
+  }
+
+  /**
+   * assembles the color state of a pure color through every stage.
+   *
+   * @param pureColor the pure color selected on the palette.
+   * @return the assembled color state.
+   */
+  public long assemble(@ColorInt int pureColor) {
+    assembledPureColor = pureColor;
+    isAssembled = true;
+    return setColorState(assemble(ColorState.fromColor(pureColor), 0));
+  }
+
+  /**
+   * gets whether the color state can be assembled again from a changed stage, without applying
+   * the stages before it.
+   *
+   * @param stage the changed stage.
+   * @param pureColor the pure color selected on the palette.
+   * @return true if {@link #reassemble(ColorStage)} can be called.
+   */
+  public boolean canReassemble(@NonNull ColorStage stage, @ColorInt int pureColor) {
+    return isAssembled && assembledPureColor == pureColor && stages.contains(stage);
+  }
+
+  /**
+   * assembles the color state again from a changed stage. only the stage and the stages after it
+   * are applied to the color state notified to the stage.
+   *
+   * @param stage the changed stage.
+   * @return the assembled color state.
+   */
+  public long reassemble(@NonNull ColorStage stage) {
+    int index = stages.indexOf(stage);
+    if (index < 0) return colorState;
+    return setColorState(assemble(stage.getColorState(), index));
+  }
+
+  /**
+   * gets the color state of a color. the state is kept while the color is not changed.
+   *
+   * @param color the selected color.
+   * @return the packed color state. see {@link ColorState}.
+   */
+  public long getColorState(@ColorInt int color) {
+    if (!hasColorState || colorStateColor != color) {
+      setColorState(ColorState.fromColor(color));
+    }
+    return colorState;
+  }
+
+  /**
+   * sets the color state.
+   *
+   * @param state the packed color state. see {@link ColorState}.
+   * @return the color state.
+   */
+  public long setColorState(long state) {
+    colorState = state;
+    colorStateColor = ColorState.toColor(state);
+    hasColorState = true;
+    return state;
+  }
+
+  /**
+   * gets the color of the color state.
+   *
+   * @return ARGB color.
+   */
+  public @ColorInt int getColor() {
+    return colorStateColor;
+  }
+
+  private long assemble(long state, int from) {
+    for (int i = from; i < stages.size(); i++) {
+      ColorStage stage = stages.get(i);
+      stage.notifyColorState(state);
+      state = stage.applyToState(state);
+    }
+    return state;
+  }
+}
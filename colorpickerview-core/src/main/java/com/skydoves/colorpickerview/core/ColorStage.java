@@ -0,0 +1,46 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+/**
+ * ColorStage is a stage of the slider assembly of the {@link ColorPickerModel}. Each stage is
+ * notified of the color state assembled by the previous stages, and applies its own value to it.
+ */
+public interface ColorStage {
+
+  /**
+   * called with the color state assembled by the previous stages.
+   *
+   * @param state the packed color state. see {@link ColorState}.
+   */
+  void notifyColorState(long state);
+
+  /**
+   * gets the color state which has been notified to the stage.
+   *
+   * @return the packed color state. see {@link ColorState}.
+   */
+  long getColorState();
+
+  /**
+   * applies the value of the stage to a color state.
+   *
+   * @param state the color state assembled by the previous stages.
+   * @return the color state which the stage is applied to.
+   */
+  long applyToState(long state);
+}
@@ -0,0 +1,237 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+
+/**
+ * ColorState packs an HSVA color into a single long, so the selected color can be updated and
+ * read without any allocation or repeated conversion.
+ *
+ * <p>The alpha, the hue, the saturation and the value are stored as 16 bits fixed-point values
+ * from the highest bits. The conversions follow the HSV model of {@code android.graphics.Color}
+ * exactly, and they are pure functions which can be called from any thread.
+ */
+public final class ColorState {
+
+  private static final int ALPHA_SHIFT = 48;
+  private static final int HUE_SHIFT = 32;
+  private static final int SATURATION_SHIFT = 16;
+  private static final int VALUE_SHIFT = 0;
+  private static final float MAX = 0xFFFF;
+
+  private ColorState() {}
+
+  /**
+   * packs an HSVA color.
+   *
+   * @param hue hue between 0 and 360.
+   * @param saturation saturation between 0 and 1.
+   * @param value value between 0 and 1.
+   * @param alpha alpha between 0 and 1.
+   * @return the packed color state.
+   */
+  public static long pack(
+      @FloatRange(from = 0.0, to = 360.0) float hue,
+      @FloatRange(from = 0.0, to = 1.0) float saturation,
+      @FloatRange(from = 0.0, to = 1.0) float value,
+      @FloatRange(from = 0.0, to = 1.0) float alpha) {
+    return ((long) toFixed(alpha) << ALPHA_SHIFT)
+        | ((long) toFixed(hue / 360f) << HUE_SHIFT)
+        | ((long) toFixed(saturation) << SATURATION_SHIFT)
+        | ((long) toFixed(value) << VALUE_SHIFT);
+  }
+
+  /**
+   * converts an ARGB color to the packed color state.
+   *
+   * @param color ARGB color.
+   * @return the packed color state.
+   */
+  public static long fromColor(@ColorInt int color) {
+    int max = maxComponent(color);
+    int delta = max - minComponent(color);
+    float saturation = delta != 0 ? (float) delta / max : 0f;
+    return pack(hueOf(color, max, delta), saturation, max / 255f, (color >>> 24) / 255f);
+  }
+
+  /**
+   * converts an ARGB color to the hue, the saturation and the value like the {@code
+   * Color.colorToHSV}.
+   *
+   * @param color ARGB color.
+   * @param hsv an array of 3 floats which the hue, the saturation and the value are written.
+   */
+  public static void colorToHsv(@ColorInt int color, @NonNull float[] hsv) {
+    int max = maxComponent(color);
+    int delta = max - minComponent(color);
+    hsv[0] = hueOf(color, max, delta);
+    hsv[1] = delta != 0 ? (float) delta / max : 0f;
+    hsv[2] = max / 255f;
+  }
+
+  /**
+   * converts the packed color state to an ARGB color.
+   *
+   * @param state the packed color state.
+   * @return ARGB color.
+   */
+  public static @ColorInt int toColor(long state) {
+    return hsvToColor(
+        roundToInt(getAlpha(state) * 255), getHue(state), getSaturation(state), getValue(state));
+  }
+
+  /**
+   * converts an alpha to the alpha byte of the {@link #toColor(long)}, which is rounded from the
+   * packed alpha. the sliders use it, so every path gives the same alpha byte.
+   *
+   * @param alpha alpha between 0 and 1.
+   * @return alpha between 0 and 255.
+   */
+  public static int toAlphaByte(@FloatRange(from = 0.0, to = 1.0) float alpha) {
+    return roundToInt(toFixed(alpha) / MAX * 255);
+  }
+
+  /**
+   * converts the hue, the saturation and the value to an ARGB color like the {@code
+   * Color.HSVToColor}.
+   *
+   * @param alpha alpha between 0 and 255.
+   * @param hue hue between 0 and 360.
+   * @param saturation saturation between 0 and 1.
+   * @param value value between 0 and 1.
+   * @return ARGB color.
+   */
+  public static @ColorInt int hsvToColor(int alpha, float hue, float saturation, float value) {
+    saturation = Math.max(0f, Math.min(1f, saturation));
+    value = Math.max(0f, Math.min(1f, value));
+    int valueByte = roundToInt(value * 255);
+    if (saturation <= 1f / 4096) {
+      return argb(alpha, valueByte, valueByte, valueByte);
+    }
+
+    float sector = hue < 0f || hue >= 360f ? 0f : hue / 60f;
+    float whole = (float) Math.floor(sector);
+    float fraction = sector - whole;
+    int p = roundToInt((1f - saturation) * value * 255);
+    int q = roundToInt((1f - saturation * fraction) * value * 255);
+    int t = roundToInt((1f - saturation * (1f - fraction)) * value * 255);
+    switch ((int) whole) {
+      case 0:
+        return argb(alpha, valueByte, t, p);
+      case 1:
+        return argb(alpha, q, valueByte, p);
+      case 2:
+        return argb(alpha, p, valueByte, t);
+      case 3:
+        return argb(alpha, p, q, valueByte);
+      case 4:
+        return argb(alpha, t, p, valueByte);
+      default:
+        return argb(alpha, valueByte, p, q);
+    }
+  }
+
+  /** gets the hue between 0 and 360. */
+  public static float getHue(long state) {
+    return fromFixed(state, HUE_SHIFT) * 360f;
+  }
+
+  /** gets the saturation between 0 and 1. */
+  public static float getSaturation(long state) {
+    return fromFixed(state, SATURATION_SHIFT);
+  }
+
+  /** gets the value between 0 and 1. */
+  public static float getValue(long state) {
+    return fromFixed(state, VALUE_SHIFT);
+  }
+
+  /** gets the alpha between 0 and 1. */
+  public static float getAlpha(long state) {
+    return fromFixed(state, ALPHA_SHIFT);
+  }
+
+  /** replaces the hue of the color state. */
+  public static long withHue(long state, @FloatRange(from = 0.0, to = 360.0) float hue) {
+    return withFixed(state, HUE_SHIFT, hue / 360f);
+  }
+
+  /** replaces the saturation of the color state. */
+  public static long withSaturation(
+      long state, @FloatRange(from = 0.0, to = 1.0) float saturation) {
+    return withFixed(state, SATURATION_SHIFT, saturation);
+  }
+
+  /** replaces the value of the color state. */
+  public static long withValue(long state, @FloatRange(from = 0.0, to = 1.0) float value) {
+    return withFixed(state, VALUE_SHIFT, value);
+  }
+
+  /** replaces the alpha of the color state. */
+  public static long withAlpha(long state, @FloatRange(from = 0.0, to = 1.0) float alpha) {
+    return withFixed(state, ALPHA_SHIFT, alpha);
+  }
+
+  private static float hueOf(int color, int max, int delta) {
+    if (delta == 0) return 0f;
+    int red = (color >> 16) & 0xFF;
+    int green = (color >> 8) & 0xFF;
+    int blue = color & 0xFF;
+    float hue;
+    if (red == max) {
+      hue = (float) (green - blue) / delta;
+    } else if (green == max) {
+      hue = 2 + (float) (blue - red) / delta;
+    } else {
+      hue = 4 + (float) (red - green) / delta;
+    }
+    hue *= 60;
+    if (hue < 0) hue += 360;
+    return hue;
+  }
+
+  private static int maxComponent(int color) {
+    return Math.max((color >> 16) & 0xFF, Math.max((color >> 8) & 0xFF, color & 0xFF));
+  }
+
+  private static int minComponent(int color) {
+    return Math.min((color >> 16) & 0xFF, Math.min((color >> 8) & 0xFF, color & 0xFF));
+  }
+
+  private static long withFixed(long state, int shift, float unit) {
+    return (state & ~(0xFFFFL << shift)) | ((long) toFixed(unit) << shift);
+  }
+
+  private static float fromFixed(long state, int shift) {
+    return ((state >>> shift) & 0xFFFF) / MAX;
+  }
+
+  private static int toFixed(float unit) {
+    return roundToInt(Math.max(0f, Math.min(1f, unit)) * MAX);
+  }
+
+  private static int roundToInt(float value) {
+    return (int) Math.floor(value + 0.5f);
+  }
+
+  private static int argb(int alpha, int red, int green, int blue) {
+    return (alpha << 24) | (red << 16) | (green << 8) | blue;
+  }
+}
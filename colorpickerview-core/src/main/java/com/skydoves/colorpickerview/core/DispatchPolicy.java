@@ -0,0 +1,112 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import androidx.annotation.NonNull;
+
+/**
+ * DispatchPolicy decides when the color changes are dispatched to the color listener by the
+ * debounce or the throttle rules.
+ *
+ * <p>On the debounce, a change is dispatched after the debounce duration of the last change, but
+ * not later than the maximum wait duration of the first pending change. On the throttle, the first
+ * change is dispatched immediately and the next changes are dispatched at most once per the
+ * debounce duration with the latest color.
+ */
+public final class DispatchPolicy {
+
+  /** returned by the {@link #onColorChanged(boolean)} when the change should be dispatched now. */
+  public static final long DISPATCH_NOW = -1L;
+
+  /** returned by the {@link #onColorChanged(boolean)} when the scheduled dispatch is kept. */
+  public static final long KEEP_SCHEDULED = -2L;
+
+  private final Clock clock;
+  private long debounceDuration = 0;
+  private long maxWaitDuration = 0;
+  private long lastDispatchTime = 0;
+  private long firstPendingTime = 0;
+  private boolean isPending = false;
+
+  public DispatchPolicy(@NonNull Clock clock) {
+    this.clock = clock;
+  }
+
+  /**
+   * called when the color is changed.
+   *
+   * @param throttling whether the changes are throttled instead of debounced.
+   * @return {@link #DISPATCH_NOW}, {@link #KEEP_SCHEDULED} or the delay in milliseconds which the
+   *     pending dispatch should be scheduled again after.
+   */
+  public long onColorChanged(boolean throttling) {
+    long now = clock.uptimeMillis();
+    if (throttling) {
+      if (isPending) return KEEP_SCHEDULED;
+      long nextDispatchTime = lastDispatchTime + debounceDuration;
+      if (now >= nextDispatchTime) return DISPATCH_NOW;
+      isPending = true;
+      return nextDispatchTime - now;
+    }
+
+    if (!isPending) {
+      isPending = true;
+      firstPendingTime = now;
+    }
+    long delay = debounceDuration;
+    if (maxWaitDuration > 0) {
+      delay = Math.min(delay, Math.max(0, firstPendingTime + maxWaitDuration - now));
+    }
+    return delay;
+  }
+
+  /** called when the color change is dispatched. */
+  public void onDispatched() {
+    isPending = false;
+    lastDispatchTime = clock.uptimeMillis();
+  }
+
+  /** cancels the pending dispatch. */
+  public void cancel() {
+    isPending = false;
+  }
+
+  /**
+   * gets whether a dispatch is pending. a change while pending is coalesced into the pending one.
+   *
+   * @return true if a dispatch is pending.
+   */
+  public boolean isPending() {
+    return isPending;
+  }
+
+  public long getDebounceDuration() {
+    return debounceDuration;
+  }
+
+  public void setDebounceDuration(long debounceDuration) {
+    this.debounceDuration = debounceDuration;
+  }
+
+  public long getMaxWaitDuration() {
+    return maxWaitDuration;
+  }
+
+  public void setMaxWaitDuration(long maxWaitDuration) {
+    this.maxWaitDuration = maxWaitDuration;
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+/**
+ * HsvWheel is the geometry of the HSV color wheel. The hue goes counterclockwise from the right of
+ * the center, and the saturation increases from the center to the edge with the full value.
+ *
+ * <p>Points are passed as arrays of 2 floats, so the functions never allocate.
+ */
+public final class HsvWheel {
+
+  private HsvWheel() {}
+
+  /**
+   * gets the color on a coordinate of the wheel. the saturation is clamped on the edge.
+   *
+   * @param centerX coordinate x of the center.
+   * @param centerY coordinate y of the center.
+   * @param radius radius of the wheel.
+   * @param x coordinate x.
+   * @param y coordinate y.
+   * @return the opaque color on the coordinate.
+   */
+  public static @ColorInt int colorAt(
+      float centerX, float centerY, float radius, float x, float y) {
+    float dx = x - centerX;
+    float dy = y - centerY;
+    double r = Math.sqrt(dx * dx + dy * dy);
+    float hue = (float) (Math.atan2(dy, -dx) / Math.PI * 180f) + 180;
+    float saturation = Math.max(0f, Math.min(1f, (float) (r / radius)));
+    return ColorState.hsvToColor(0xFF, hue, saturation, 1f);
+  }
+
+  /**
+   * gets the coordinate of a color's hue and saturation. the value of the color is ignored.
+   *
+   * @param color color.
+   * @param centerX coordinate x of the center.
+   * @param centerY coordinate y of the center.
+   * @param radius radius of the wheel.
+   * @param hsv an array of 3 floats for the conversion.
+   * @param out an array of 2 floats which the coordinate is written.
+   */
+  public static void pointOf(
+      @ColorInt int color,
+      float centerX,
+      float centerY,
+      float radius,
+      @NonNull float[] hsv,
+      @NonNull float[] out) {
+    ColorState.colorToHsv(color, hsv);
+    float distance = hsv[1] * radius;
+    out[0] = (float) (distance * Math.cos(Math.toRadians(hsv[0]))) + centerX;
+    out[1] = (float) (-distance * Math.sin(Math.toRadians(hsv[0]))) + centerY;
+  }
+
+  /**
+   * gets whether a coordinate is inside the wheel.
+   *
+   * @return true if the coordinate is selectable.
+   */
+  public static boolean isSelectable(float centerX, float centerY, float radius, float x, float y) {
+    float dx = x - centerX;
+    float dy = y - centerY;
+    return dx * dx + dy * dy <= radius * radius;
+  }
+
+  /**
+   * moves a coordinate outside of the wheel to the closest coordinate on the edge.
+   *
+   * @param point an array of 2 floats of the coordinate.
+   */
+  public static void clamp(float centerX, float centerY, float radius, @NonNull float[] point) {
+    float dx = point[0] - centerX;
+    float dy = point[1] - centerY;
+    double r = Math.sqrt(dx * dx + dy * dy);
+    if (r > radius) {
+      point[0] = (float) (dx * radius / r) + centerX;
+      point[1] = (float) (dy * radius / r) + centerY;
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import androidx.annotation.NonNull;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * TouchTrace is an immutable sequence of single pointer touch events on a color picker and its
+ * sliders, which can be replayed with the same timing.
+ *
+ * <p>The binary format starts with a magic number, a version and the count of events. Each event
+ * is a target byte, an action byte, the time from the previous event as a variable-length integer
+ * in milliseconds and the coordinate as two floats.
+ */
+public final class TouchTrace {
+
+  /** the same value as the {@code MotionEvent.ACTION_DOWN}. */
+  public static final int ACTION_DOWN = 0;
+  /** the same value as the {@code MotionEvent.ACTION_UP}. */
+  public static final int ACTION_UP = 1;
+  /** the same value as the {@code MotionEvent.ACTION_MOVE}. */
+  public static final int ACTION_MOVE = 2;
+  /** the same value as the {@code MotionEvent.ACTION_CANCEL}. */
+  public static final int ACTION_CANCEL = 3;
+
+  /** the palette of the color picker. */
+  public static final int TARGET_PALETTE = 0;
+  /** the attached alpha slider. */
+  public static final int TARGET_ALPHA_SLIDER = 1;
+  /** the attached brightness slider. */
+  public static final int TARGET_BRIGHTNESS_SLIDER = 2;
+  /** the attached hue slider. */
+  public static final int TARGET_HUE_SLIDER = 3;
+  /** the first attached channel slider. the next channel sliders follow it in attached order. */
+  public static final int TARGET_CHANNEL_SLIDER = 4;
+
+  private static final int MAGIC = 0x43505654;
+  private static final int VERSION = 1;
+
+  private final int size;
+  private final byte[] targets;
+  private final byte[] actions;
+  private final long[] times;
+  private final float[] xs;
+  private final float[] ys;
+
+  private TouchTrace(
+      int size, byte[] targets, byte[] actions, long[] times, float[] xs, float[] ys) {
+    this.size = size;
+    this.targets = targets;
+    this.actions = actions;
+    this.times = times;
+    this.xs = xs;
+    this.ys = ys;
+  }
+
+  /** gets the number of the events. */
+  public int size() {
+    return size;
+  }
+
+  /** gets the target of the event. see {@link #TARGET_PALETTE}. */
+  public int getTarget(int index) {
+    return targets[index];
+  }
+
+  /** gets the action of the event. see {@link #ACTION_DOWN}. */
+  public int getAction(int index) {
+    return actions[index];
+  }
+
+  /** gets the time of the event from the first event in milliseconds. */
+  public long getTimeMillis(int index) {
+    return times[index];
+  }
+
+  /** gets the coordinate x of the event on the target. */
+  public float getX(int index) {
+    return xs[index];
+  }
+
+  /** gets the coordinate y of the event on the target. */
+  public float getY(int index) {
+    return ys[index];
+  }
+
+  /** gets the time from the first event to the last event in milliseconds. */
+  public long getDurationMillis() {
+    return size == 0 ? 0 : times[size - 1];
+  }
+
+  /**
+   * writes the trace by the binary format.
+   *
+   * @param outputStream the stream to be written. it is not closed.
+   * @throws IOException if the stream fails.
+   */
+  public void writeTo(@NonNull OutputStream outputStream) throws IOException {
+    DataOutputStream out = new DataOutputStream(outputStream);
+    out.writeInt(MAGIC);
+    out.writeByte(VERSION);
+    out.writeInt(size);
+    long previousTime = 0;
+    for (int i = 0; i < size; i++) {
+      out.writeByte(targets[i]);
+      out.writeByte(actions[i]);
+      writeVarLong(out, times[i] - previousTime);
+      out.writeFloat(xs[i]);
+      out.writeFloat(ys[i]);
+      previousTime = times[i];
+    }
+    out.flush();
+  }
+
+  /**
+   * reads a trace written by the {@link #writeTo(OutputStream)}.
+   *
+   * @param inputStream the stream to be read. it is not closed.
+   * @return {@link TouchTrace}.
+   * @throws IOException if the stream fails or it is not a trace.
+   */
+  public static @NonNull TouchTrace readFrom(@NonNull InputStream inputStream) throws IOException {
+    DataInputStream in = new DataInputStream(inputStream);
+    if (in.readInt() != MAGIC) throw new IOException("not a touch trace.");
+    int version = in.readUnsignedByte();
+    if (version != VERSION) throw new IOException("unsupported touch trace version: " + version);
+    int size = in.readInt();
+    if (size < 0) throw new IOException("invalid touch trace size: " + size);
+    Builder builder = new Builder();
+    long time = 0;
+    for (int i = 0; i < size; i++) {
+      int target = in.readUnsignedByte();
+      int action = in.readUnsignedByte();
+      time += readVarLong(in);
+      builder.add(target, action, time, in.readFloat(), in.readFloat());
+    }
+    return builder.build();
+  }
+
+  private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      out.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.writeByte((int) value);
+  }
+
+  private static long readVarLong(DataInputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = in.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) return value;
+    }
+    throw new IOException("malformed touch trace time.");
+  }
+
+  /** Builder class for create {@link TouchTrace}. */
+  public static final class Builder {
+    private int size = 0;
+    private long firstTime;
+    private byte[] targets = new byte[64];
+    private byte[] actions = new byte[64];
+    private long[] times = new long[64];
+    private float[] xs = new float[64];
+    private float[] ys = new float[64];
+
+    /**
+     * adds an event. the times are stored from the time of the first event.
+     *
+     * @param target the target of the event. see {@link #TARGET_PALETTE}.
+     * @param action the action of the event. see {@link #ACTION_DOWN}.
+     * @param timeMillis the time of the event in milliseconds, which is not decreasing.
+     * @param x coordinate x on the target.
+     * @param y coordinate y on the target.
+     * @return {@link Builder}.
+     */
+    public @NonNull Builder add(int target, int action, long timeMillis, float x, float y) {
+      if (size == times.length) {
+        int capacity = size * 2;
+        targets = Arrays.copyOf(targets, capacity);
+        actions = Arrays.copyOf(actions, capacity);
+        times = Arrays.copyOf(times, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+      }
+      if (size == 0) firstTime = timeMillis;
+      targets[size] = (byte) target;
+      actions[size] = (byte) action;
+      times[size] = size == 0 ? 0 : Math.max(times[size - 1], timeMillis - firstTime);
+      xs[size] = x;
+      ys[size] = y;
+      size++;
+      return this;
+    }
+
+    /** gets the number of the added events. */
+    public int size() {
+      return size;
+    }
+
+    public @NonNull TouchTrace build() {
+      return new TouchTrace(
+          size,
+          Arrays.copyOf(targets, size),
+          Arrays.copyOf(actions, size),
+          Arrays.copyOf(times, size),
+          Arrays.copyOf(xs, size),
+          Arrays.copyOf(ys, size));
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import androidx.annotation.NonNull;
+import java.util.Random;
+
+/**
+ * TouchTraces generates the reference {@link TouchTrace}s, which are repeatable workloads of the
+ * common interactions for measuring the throughput of a color picker.
+ */
+public final class TouchTraces {
+
+  private TouchTraces() {}
+
+  /**
+   * generates a drag along a circle, such as dragging fast around the HSV wheel.
+   *
+   * @param target the target of the events. see {@link TouchTrace#TARGET_PALETTE}.
+   * @param centerX coordinate x of the center.
+   * @param centerY coordinate y of the center.
+   * @param radius radius of the circle.
+   * @param turns the number of the turns.
+   * @param samplesPerTurn the number of the move events per a turn.
+   * @param frameMillis the interval of the events in milliseconds.
+   * @return {@link TouchTrace}.
+   */
+  public static @NonNull TouchTrace circularDrag(
+      int target,
+      float centerX,
+      float centerY,
+      float radius,
+      int turns,
+      int samplesPerTurn,
+      long frameMillis) {
+    TouchTrace.Builder builder = new TouchTrace.Builder();
+    int samples = Math.max(1, turns * samplesPerTurn);
+    long time = 0;
+    builder.add(target, TouchTrace.ACTION_DOWN, time, centerX + radius, centerY);
+    for (int i = 1; i <= samples; i++) {
+      double angle = 2 * Math.PI * i / Math.max(1, samplesPerTurn);
+      time += frameMillis;
+      builder.add(
+          target,
+          TouchTrace.ACTION_MOVE,
+          time,
+          centerX + (float) (radius * Math.cos(angle)),
+          centerY + (float) (radius * Math.sin(angle)));
+    }
+    builder.add(target, TouchTrace.ACTION_UP, time, centerX + radius, centerY);
+    return builder.build();
+  }
+
+  /**
+   * generates a drag scrubbing a slider from end to end.
+   *
+   * @param target the target of the events. see {@link TouchTrace#TARGET_ALPHA_SLIDER}.
+   * @param width the width of the slider.
+   * @param y coordinate y of the events.
+   * @param passes the number of the passes from an end to the other end.
+   * @param samplesPerPass the number of the move events per a pass.
+   * @param frameMillis the interval of the events in milliseconds.
+   * @return {@link TouchTrace}.
+   */
+  public static @NonNull TouchTrace sliderScrub(
+      int target, float width, float y, int passes, int samplesPerPass, long frameMillis) {
+    TouchTrace.Builder builder = new TouchTrace.Builder();
+    int steps = Math.max(1, samplesPerPass);
+    long time = 0;
+    float x = 0f;
+    builder.add(target, TouchTrace.ACTION_DOWN, time, x, y);
+    for (int pass = 0; pass < passes; pass++) {
+      for (int i = 1; i <= steps; i++) {
+        float fraction = (float) i / steps;
+        x = width * (pass % 2 == 0 ? fraction : 1f - fraction);
+        time += frameMillis;
+        builder.add(target, TouchTrace.ACTION_MOVE, time, x, y);
+      }
+    }
+    builder.add(target, TouchTrace.ACTION_UP, time, x, y);
+    return builder.build();
+  }
+
+  /**
+   * generates taps on random coordinates. the coordinates are the same for the same seed.
+   *
+   * @param target the target of the events. see {@link TouchTrace#TARGET_PALETTE}.
+   * @param width the width of the target.
+   * @param height the height of the target.
+   * @param taps the number of the taps.
+   * @param intervalMillis the interval of the taps in milliseconds.
+   * @param seed the seed of the coordinates.
+   * @return {@link TouchTrace}.
+   */
+  public static @NonNull TouchTrace tapStorm(
+      int target, float width, float height, int taps, long intervalMillis, long seed) {
+    TouchTrace.Builder builder = new TouchTrace.Builder();
+    Random random = new Random(seed);
+    long time = 0;
+    for (int i = 0; i < taps; i++) {
+      float x = random.nextFloat() * width;
+      float y = random.nextFloat() * height;
+      builder.add(target, TouchTrace.ACTION_DOWN, time, x, y);
+      builder.add(target, TouchTrace.ACTION_UP, time + intervalMillis / 2, x, y);
+      time += intervalMillis;
+    }
+    return builder.build();
+  }
+}
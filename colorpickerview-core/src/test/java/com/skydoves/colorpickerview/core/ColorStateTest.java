@@ -0,0 +1,136 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * ColorStateTest checks the packed HSVA color math. The expected colors follow the HSV model of
+ * {@code android.graphics.Color}, and the framework itself is compared by the Robolectric tests of
+ * the {@code colorpickerview} module.
+ */
+public class ColorStateTest {
+
+  /** the largest error of a 16 bits fixed-point hue. */
+  private static final float HUE_DELTA = 360f / 0xFFFF;
+
+  /** the largest error of a 16 bits fixed-point unit value. */
+  private static final float UNIT_DELTA = 1f / 0xFFFF;
+
+  @Test
+  public void packKeepsTheComponents() {
+    long state = ColorState.pack(200f, 0.25f, 0.75f, 0.5f);
+
+    assertEquals(200f, ColorState.getHue(state), HUE_DELTA);
+    assertEquals(0.25f, ColorState.getSaturation(state), UNIT_DELTA);
+    assertEquals(0.75f, ColorState.getValue(state), UNIT_DELTA);
+    assertEquals(0.5f, ColorState.getAlpha(state), UNIT_DELTA);
+  }
+
+  @Test
+  public void withReplacesOnlyOneComponent() {
+    long state = ColorState.pack(200f, 0.25f, 0.75f, 0.5f);
+
+    assertEquals(ColorState.pack(100f, 0.25f, 0.75f, 0.5f), ColorState.withHue(state, 100f));
+    assertEquals(ColorState.pack(200f, 1f, 0.75f, 0.5f), ColorState.withSaturation(state, 1f));
+    assertEquals(ColorState.pack(200f, 0.25f, 0f, 0.5f), ColorState.withValue(state, 0f));
+    assertEquals(ColorState.pack(200f, 0.25f, 0.75f, 1f), ColorState.withAlpha(state, 1f));
+  }
+
+  @Test
+  public void packClampsTheComponents() {
+    long state = ColorState.pack(400f, -1f, 2f, 2f);
+
+    assertEquals(360f, ColorState.getHue(state), 0f);
+    assertEquals(0f, ColorState.getSaturation(state), 0f);
+    assertEquals(1f, ColorState.getValue(state), 0f);
+    assertEquals(1f, ColorState.getAlpha(state), 0f);
+  }
+
+  @Test
+  public void hsvToColorMatchesTheGoldenColors() {
+    assertEquals(0xFFFF0000, ColorState.hsvToColor(0xFF, 0f, 1f, 1f));
+    assertEquals(0xFFFF8000, ColorState.hsvToColor(0xFF, 30f, 1f, 1f));
+    assertEquals(0xFF00FF00, ColorState.hsvToColor(0xFF, 120f, 1f, 1f));
+    assertEquals(0xFF0000FF, ColorState.hsvToColor(0xFF, 240f, 1f, 1f));
+    assertEquals(0xFFFF00FF, ColorState.hsvToColor(0xFF, 300f, 1f, 1f));
+    assertEquals(0xFF808040, ColorState.hsvToColor(0xFF, 60f, 0.5f, 0.5f));
+    assertEquals(0xFF808080, ColorState.hsvToColor(0xFF, 200f, 0f, 0.5f));
+    assertEquals(0xFF000000, ColorState.hsvToColor(0xFF, 200f, 1f, 0f));
+  }
+
+  @Test
+  public void hsvToColorTreatsTheHueOutOfRangeAsRed() {
+    assertEquals(0xFFFF0000, ColorState.hsvToColor(0xFF, 360f, 1f, 1f));
+    assertEquals(0xFFFF0000, ColorState.hsvToColor(0xFF, -10f, 1f, 1f));
+  }
+
+  @Test
+  public void hsvToColorKeepsTheAlpha() {
+    assertEquals(0x80FF0000, ColorState.hsvToColor(0x80, 0f, 1f, 1f));
+    assertEquals(0x00FF0000, ColorState.hsvToColor(0x00, 0f, 1f, 1f));
+  }
+
+  @Test
+  public void toAlphaByteMatchesTheAlphaOfToColor() {
+    assertEquals(0x00, ColorState.toAlphaByte(0f));
+    assertEquals(0x80, ColorState.toAlphaByte(0.5f));
+    assertEquals(0xFF, ColorState.toAlphaByte(1f));
+    long state = ColorState.pack(120f, 0.5f, 0.5f, 1f);
+    for (int step = 0; step <= 10_000; step++) {
+      float alpha = step / 10_000f;
+      int expected = ColorState.toColor(ColorState.withAlpha(state, alpha)) >>> 24;
+      assertEquals(expected, ColorState.toAlphaByte(alpha));
+    }
+  }
+
+  @Test
+  public void colorToHsvMatchesTheGoldenValues() {
+    float[] hsv = new float[3];
+
+    ColorState.colorToHsv(0xFF00FF00, hsv);
+    assertArrayEquals(new float[] {120f, 1f, 1f}, hsv, 0f);
+
+    ColorState.colorToHsv(0xFF808040, hsv);
+    assertArrayEquals(new float[] {60f, 0.5f, 128 / 255f}, hsv, 0f);
+
+    ColorState.colorToHsv(0xFF808080, hsv);
+    assertArrayEquals(new float[] {0f, 0f, 128 / 255f}, hsv, 0f);
+  }
+
+  @Test
+  public void everyOpaqueColorRoundTrips() {
+    for (int rgb = 0; rgb <= 0xFFFFFF; rgb++) {
+      int color = 0xFF000000 | rgb;
+      int roundTripped = ColorState.toColor(ColorState.fromColor(color));
+      if (roundTripped != color) {
+        assertEquals(Integer.toHexString(color), Integer.toHexString(roundTripped));
+      }
+    }
+  }
+
+  @Test
+  public void everyAlphaRoundTrips() {
+    for (int alpha = 0; alpha <= 0xFF; alpha++) {
+      int color = (alpha << 24) | 0x3366CC;
+      assertEquals(color, ColorState.toColor(ColorState.fromColor(color)));
+    }
+  }
+}
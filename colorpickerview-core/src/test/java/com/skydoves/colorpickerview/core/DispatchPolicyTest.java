@@ -0,0 +1,125 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/** DispatchPolicyTest checks the debounce and the throttle rules on a fake {@link Clock}. */
+public class DispatchPolicyTest {
+
+  private FakeClock clock;
+  private DispatchPolicy policy;
+
+  @Before
+  public void setUp() {
+    clock = new FakeClock(1000);
+    policy = new DispatchPolicy(clock);
+    policy.setDebounceDuration(100);
+  }
+
+  @Test
+  public void debounceDelaysTheDispatchFromTheLastChange() {
+    assertEquals(100, policy.onColorChanged(false));
+    assertTrue(policy.isPending());
+
+    clock.advance(60);
+    assertEquals(100, policy.onColorChanged(false));
+
+    clock.advance(100);
+    policy.onDispatched();
+    assertFalse(policy.isPending());
+  }
+
+  @Test
+  public void debounceIsBoundedByTheMaxWaitDuration() {
+    policy.setMaxWaitDuration(150);
+    assertEquals(100, policy.onColorChanged(false));
+
+    clock.advance(80);
+    assertEquals(70, policy.onColorChanged(false));
+
+    clock.advance(80);
+    assertEquals(0, policy.onColorChanged(false));
+  }
+
+  @Test
+  public void throttleDispatchesTheFirstChangeNow() {
+    assertEquals(DispatchPolicy.DISPATCH_NOW, policy.onColorChanged(true));
+    assertFalse(policy.isPending());
+  }
+
+  @Test
+  public void throttleCoalescesTheChangesUntilTheNextWindow() {
+    policy.onColorChanged(true);
+    policy.onDispatched();
+
+    clock.advance(30);
+    assertEquals(70, policy.onColorChanged(true));
+    assertTrue(policy.isPending());
+
+    clock.advance(20);
+    assertEquals(DispatchPolicy.KEEP_SCHEDULED, policy.onColorChanged(true));
+
+    clock.advance(50);
+    policy.onDispatched();
+    clock.advance(100);
+    assertEquals(DispatchPolicy.DISPATCH_NOW, policy.onColorChanged(true));
+  }
+
+  @Test
+  public void throttleWithoutDurationDispatchesEveryChange() {
+    policy.setDebounceDuration(0);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(DispatchPolicy.DISPATCH_NOW, policy.onColorChanged(true));
+      policy.onDispatched();
+    }
+  }
+
+  @Test
+  public void cancelDropsThePendingDispatch() {
+    policy.onColorChanged(false);
+    policy.cancel();
+    assertFalse(policy.isPending());
+
+    clock.advance(60);
+    assertEquals(100, policy.onColorChanged(false));
+  }
+
+  /** FakeClock is a {@link Clock} which is moved only by the test. */
+  private static final class FakeClock implements Clock {
+
+    private long now;
+
+    FakeClock(long now) {
+      this.now = now;
+    }
+
+    void advance(long millis) {
+      now += millis;
+    }
+
+    @Override
+    public long uptimeMillis() {
+      return now;
+    }
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/** HsvWheelTest checks the geometry of the HSV color wheel. */
+public class HsvWheelTest {
+
+  private static final float CENTER_X = 100f;
+  private static final float CENTER_Y = 100f;
+  private static final float RADIUS = 100f;
+  private static final float DELTA = 1e-3f;
+
+  @Test
+  public void centerIsWhite() {
+    assertEquals(0xFFFFFFFF, HsvWheel.colorAt(CENTER_X, CENTER_Y, RADIUS, CENTER_X, CENTER_Y));
+  }
+
+  @Test
+  public void hueGoesCounterclockwiseFromTheRight() {
+    assertEquals(0xFFFF0000, HsvWheel.colorAt(CENTER_X, CENTER_Y, RADIUS, 200f, 100f));
+    assertEquals(0xFF80FF00, HsvWheel.colorAt(CENTER_X, CENTER_Y, RADIUS, 100f, 0f));
+    assertEquals(0xFF00FFFF, HsvWheel.colorAt(CENTER_X, CENTER_Y, RADIUS, 0f, 100f));
+    assertEquals(0xFF8000FF, HsvWheel.colorAt(CENTER_X, CENTER_Y, RADIUS, 100f, 200f));
+  }
+
+  @Test
+  public void saturationIsClampedOutsideTheWheel() {
+    assertEquals(0xFFFF0000, HsvWheel.colorAt(CENTER_X, CENTER_Y, RADIUS, 500f, 100f));
+  }
+
+  @Test
+  public void pointOfIsTheInverseOfColorAt() {
+    float[] hsv = new float[3];
+    float[] point = new float[2];
+    int[] colors = {0xFFFF0000, 0xFF80FF00, 0xFF00FFFF, 0xFF8000FF, 0xFFFFFFFF};
+    for (int color : colors) {
+      HsvWheel.pointOf(color, CENTER_X, CENTER_Y, RADIUS, hsv, point);
+      assertEquals(color, HsvWheel.colorAt(CENTER_X, CENTER_Y, RADIUS, point[0], point[1]));
+    }
+  }
+
+  @Test
+  public void pointOfIgnoresTheValue() {
+    float[] hsv = new float[3];
+    float[] point = new float[2];
+    HsvWheel.pointOf(0xFF800000, CENTER_X, CENTER_Y, RADIUS, hsv, point);
+    assertArrayEquals(new float[] {200f, 100f}, point, DELTA);
+  }
+
+  @Test
+  public void isSelectableInsideTheWheel() {
+    assertTrue(HsvWheel.isSelectable(CENTER_X, CENTER_Y, RADIUS, 100f, 0f));
+    assertTrue(HsvWheel.isSelectable(CENTER_X, CENTER_Y, RADIUS, 150f, 150f));
+    assertFalse(HsvWheel.isSelectable(CENTER_X, CENTER_Y, RADIUS, 180f, 180f));
+  }
+
+  @Test
+  public void clampMovesThePointOntoTheEdge() {
+    float[] point = {400f, 100f};
+    HsvWheel.clamp(CENTER_X, CENTER_Y, RADIUS, point);
+    assertArrayEquals(new float[] {200f, 100f}, point, DELTA);
+
+    float[] inside = {120f, 130f};
+    HsvWheel.clamp(CENTER_X, CENTER_Y, RADIUS, inside);
+    assertArrayEquals(new float[] {120f, 130f}, inside, 0f);
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.Test;
+
+/** TouchTraceTest checks the binary format of the {@link TouchTrace} and the generators. */
+public class TouchTraceTest {
+
+  private static final float DELTA = 1e-3f;
+
+  @Test
+  public void builderStoresTimesFromTheFirstEvent() {
+    TouchTrace trace =
+        new TouchTrace.Builder()
+            .add(TouchTrace.TARGET_PALETTE, TouchTrace.ACTION_DOWN, 1000L, 1f, 2f)
+            .add(TouchTrace.TARGET_PALETTE, TouchTrace.ACTION_MOVE, 1016L, 3f, 4f)
+            .add(TouchTrace.TARGET_PALETTE, TouchTrace.ACTION_UP, 1010L, 5f, 6f)
+            .build();
+    assertEquals(3, trace.size());
+    assertEquals(0L, trace.getTimeMillis(0));
+    assertEquals(16L, trace.getTimeMillis(1));
+    assertEquals(16L, trace.getTimeMillis(2));
+    assertEquals(16L, trace.getDurationMillis());
+  }
+
+  @Test
+  public void writeToAndReadFromRoundTrip() throws IOException {
+    TouchTrace trace =
+        new TouchTrace.Builder()
+            .add(TouchTrace.TARGET_PALETTE, TouchTrace.ACTION_DOWN, 0L, 10.5f, 20.25f)
+            .add(TouchTrace.TARGET_PALETTE, TouchTrace.ACTION_MOVE, 16L, -1f, 1e6f)
+            .add(TouchTrace.TARGET_HUE_SLIDER, TouchTrace.ACTION_CANCEL, 100_000L, 0f, 0f)
+            .add(TouchTrace.TARGET_CHANNEL_SLIDER, TouchTrace.ACTION_UP, 1L << 40, 3f, 4f)
+            .build();
+    assertTraceEquals(trace, roundTrip(trace));
+  }
+
+  @Test
+  public void emptyTraceRoundTrip() throws IOException {
+    TouchTrace trace = roundTrip(new TouchTrace.Builder().build());
+    assertEquals(0, trace.size());
+    assertEquals(0L, trace.getDurationMillis());
+  }
+
+  @Test
+  public void readFromRejectsOtherFormats() {
+    byte[] bytes = {'P', 'N', 'G', ' ', 1, 0, 0, 0, 0};
+    try {
+      TouchTrace.readFrom(new ByteArrayInputStream(bytes));
+      fail("an IOException is expected.");
+    } catch (IOException expected) {
+      // expected.
+    }
+  }
+
+  @Test
+  public void readFromRejectsTruncatedTraces() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TouchTraces.tapStorm(TouchTrace.TARGET_PALETTE, 100f, 100f, 4, 50L, 1L).writeTo(out);
+    byte[] bytes = out.toByteArray();
+    try {
+      TouchTrace.readFrom(new ByteArrayInputStream(bytes, 0, bytes.length - 1));
+      fail("an IOException is expected.");
+    } catch (IOException expected) {
+      // expected.
+    }
+  }
+
+  @Test
+  public void circularDragStaysOnTheCircle() {
+    TouchTrace trace =
+        TouchTraces.circularDrag(TouchTrace.TARGET_PALETTE, 100f, 100f, 50f, 2, 30, 8L);
+    assertEquals(2 * 30 + 2, trace.size());
+    assertEquals(TouchTrace.ACTION_DOWN, trace.getAction(0));
+    assertEquals(TouchTrace.ACTION_UP, trace.getAction(trace.size() - 1));
+    for (int i = 1; i < trace.size() - 1; i++) {
+      assertEquals(TouchTrace.ACTION_MOVE, trace.getAction(i));
+      assertEquals(i * 8L, trace.getTimeMillis(i));
+      double radius = Math.hypot(trace.getX(i) - 100f, trace.getY(i) - 100f);
+      assertEquals(50f, radius, DELTA);
+    }
+    assertEquals(2 * 30 * 8L, trace.getDurationMillis());
+  }
+
+  @Test
+  public void sliderScrubGoesFromEndToEnd() {
+    TouchTrace trace = TouchTraces.sliderScrub(TouchTrace.TARGET_ALPHA_SLIDER, 200f, 5f, 3, 10, 4L);
+    assertEquals(3 * 10 + 2, trace.size());
+    assertEquals(0f, trace.getX(0), DELTA);
+    assertEquals(200f, trace.getX(10), DELTA);
+    assertEquals(0f, trace.getX(20), DELTA);
+    assertEquals(200f, trace.getX(30), DELTA);
+    for (int i = 0; i < trace.size(); i++) {
+      assertEquals(TouchTrace.TARGET_ALPHA_SLIDER, trace.getTarget(i));
+      assertTrue(trace.getX(i) >= 0f && trace.getX(i) <= 200f);
+      assertEquals(5f, trace.getY(i), DELTA);
+    }
+  }
+
+  @Test
+  public void tapStormIsDeterministicForTheSeed() {
+    TouchTrace trace = TouchTraces.tapStorm(TouchTrace.TARGET_PALETTE, 300f, 200f, 50, 20L, 7L);
+    assertEquals(100, trace.size());
+    for (int i = 0; i < trace.size(); i += 2) {
+      assertEquals(TouchTrace.ACTION_DOWN, trace.getAction(i));
+      assertEquals(TouchTrace.ACTION_UP, trace.getAction(i + 1));
+      assertEquals(i / 2 * 20L, trace.getTimeMillis(i));
+      assertEquals(trace.getX(i), trace.getX(i + 1), 0f);
+      assertTrue(trace.getX(i) >= 0f && trace.getX(i) < 300f);
+      assertTrue(trace.getY(i) >= 0f && trace.getY(i) < 200f);
+    }
+    assertTraceEquals(
+        trace, TouchTraces.tapStorm(TouchTrace.TARGET_PALETTE, 300f, 200f, 50, 20L, 7L));
+  }
+
+  private static TouchTrace roundTrip(TouchTrace trace) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    trace.writeTo(out);
+    return TouchTrace.readFrom(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  private static void assertTraceEquals(TouchTrace expected, TouchTrace actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.getTarget(i), actual.getTarget(i));
+      assertEquals(expected.getAction(i), actual.getAction(i));
+      assertEquals(expected.getTimeMillis(i), actual.getTimeMillis(i));
+      assertEquals(expected.getX(i), actual.getX(i), 0f);
+      assertEquals(expected.getY(i), actual.getY(i), 0f);
+    }
+  }
+}
@@ -25,5 +25,11 @@ public enum ActionMode {
   ALWAYS,
 
   /** invokes listener only when finger released. */
-  LAST
+  LAST,
+
+  /**
+   * invokes listener immediately by tapping, and then at most once per the debounce duration while
+   * dragging. the last color is always delivered after the finger stops.
+   */
+  THROTTLE
 }
@@ -0,0 +1,57 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.Nullable;
+
+/**
+ * AsyncColorPalette is a {@link ColorPalette} which prepares its colors in the background.
+ *
+ * <p>Before the color index is ready, {@link #pointOf} can't find colors, so the {@link
+ * ColorPickerView} keeps the latest selection by a color and applies it when the index is ready.
+ * {@link #colorAt} may return an approximate color of a pixel which is not decoded yet, and the
+ * {@link ColorPickerView} samples the selected color again when the colors are refined.
+ */
+public interface AsyncColorPalette extends ColorPalette {
+
+  /**
+   * gets whether the color index for {@link #pointOf} is ready.
+   *
+   * @return true if the index is ready.
+   */
+  boolean isColorIndexReady();
+
+  /**
+   * sets the callback of the palette's background work.
+   *
+   * @param paletteCallback {@link PaletteCallback} or null for removing it.
+   */
+  void setPaletteCallback(@Nullable PaletteCallback paletteCallback);
+
+  /** PaletteCallback is invoked on the main thread when the palette finishes background work. */
+  interface PaletteCallback {
+
+    /** called when the color index is ready. */
+    @MainThread
+    void onColorIndexReady();
+
+    /** called when the approximate colors of some pixels have been replaced by exact colors. */
+    @MainThread
+    void onColorsRefined();
+  }
+}
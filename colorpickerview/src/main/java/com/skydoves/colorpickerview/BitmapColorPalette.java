@@ -0,0 +1,115 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.Point;
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * BitmapColorPalette is a {@link ColorPalette} of a {@link BitmapDrawable}. Colors are read from
+ * the bitmap pixels, and points of colors are found from a {@link PaletteColorIndex}.
+ */
+public class BitmapColorPalette implements ColorPalette {
+
+  private final BitmapDrawable drawable;
+  private final Point pixelPoint = new Point();
+  private final PointF searchPoint = new PointF();
+  private PaletteColorIndex colorIndex;
+
+  public BitmapColorPalette(@NonNull BitmapDrawable drawable) {
+    this.drawable = drawable;
+  }
+
+  /**
+   * gets the wrapped drawable.
+   *
+   * @return {@link BitmapDrawable}.
+   */
+  public @NonNull BitmapDrawable getDrawable() {
+    return drawable;
+  }
+
+  /** sets the index for finding points of colors. */
+  void setColorIndex(@Nullable PaletteColorIndex colorIndex) {
+    this.colorIndex = colorIndex;
+  }
+
+  @Override
+  public @ColorInt int colorAt(float x, float y) {
+    Bitmap bitmap = drawable.getBitmap();
+    Rect bounds = drawable.getBounds();
+    if (bitmap == null
+        || bounds.isEmpty()
+        || x < bounds.left
+        || y < bounds.top
+        || x >= bounds.right
+        || y >= bounds.bottom) {
+      return Color.TRANSPARENT;
+    }
+    int pixelX = (int) ((x - bounds.left) / bounds.width() * bitmap.getWidth());
+    int pixelY = (int) ((y - bounds.top) / bounds.height() * bitmap.getHeight());
+    return bitmap.getPixel(pixelX, pixelY);
+  }
+
+  @Override
+  public boolean pointOf(@ColorInt int color, @NonNull PointF out) {
+    if (colorIndex == null || !colorIndex.findNearest(color, pixelPoint)) return false;
+    Bitmap bitmap = colorIndex.getBitmap();
+    Rect bounds = drawable.getBounds();
+    out.set(
+        bounds.left + (pixelPoint.x + 0.5f) * bounds.width() / bitmap.getWidth(),
+        bounds.top + (pixelPoint.y + 0.5f) * bounds.height() / bitmap.getHeight());
+    return true;
+  }
+
+  @Override
+  public boolean isSelectable(float x, float y) {
+    return Color.alpha(colorAt(x, y)) != 0;
+  }
+
+  /**
+   * moves the coordinate toward the center of the bitmap until it reaches a visible pixel, by a
+   * binary search between the coordinate and the center.
+   */
+  @Override
+  public void clamp(@NonNull PointF point) {
+    if (isSelectable(point.x, point.y)) return;
+    Rect bounds = drawable.getBounds();
+    float startX = point.x;
+    float startY = point.y;
+    float endX = bounds.exactCenterX();
+    float endY = bounds.exactCenterY();
+    while (Math.abs(endX - startX) > 1f || Math.abs(endY - startY) > 1f) {
+      searchPoint.set((startX + endX) * 0.5f, (startY + endY) * 0.5f);
+      if (isSelectable(searchPoint.x, searchPoint.y)) {
+        endX = searchPoint.x;
+        endY = searchPoint.y;
+      } else {
+        startX = searchPoint.x;
+        startY = searchPoint.y;
+      }
+    }
+    point.set(endX, endY);
+  }
+}
@@ -28,8 +28,6 @@ public class ColorEnvelope {
 
   public ColorEnvelope(@ColorInt int color) {
     this.color = color;
-    this.hexCode = ColorUtils.getHexCode(color);
-    this.argb = ColorUtils.getColorARGB(color);
   }
 
   /**
@@ -47,6 +45,9 @@ public class ColorEnvelope {
    * @return hex code.
    */
   public String getHexCode() {
+    if (hexCode == null) {
+      hexCode = ColorUtils.getHexCode(color);
+    }
     return hexCode;
   }
 
@@ -56,6 +57,9 @@ public class ColorEnvelope {
    * @return argb integer array.
    */
   public int[] getArgb() {
+    if (argb == null) {
+      argb = ColorUtils.getColorARGB(color);
+    }
     return argb;
   }
 }
@@ -23,29 +23,47 @@ import android.graphics.Color;
 import android.graphics.ColorFilter;
 import android.graphics.Paint;
 import android.graphics.PixelFormat;
+import android.graphics.PointF;
 import android.graphics.RadialGradient;
+import android.graphics.Rect;
 import android.graphics.Shader;
 import android.graphics.SweepGradient;
-import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
 import androidx.annotation.ColorInt;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import com.skydoves.colorpickerview.core.HsvWheel;
 
 /**
  * ColorHsvPalette is a default drawable palette built by HSV (hue, saturation, value) color model
  * for alternating representations of the RGB color model.
+ *
+ * <p>The palette is drawn by gradients and colors are calculated from the coordinates, so it only
+ * reports its intrinsic size and doesn't hold any bitmap.
  */
-public class ColorHsvPalette extends BitmapDrawable {
+public class ColorHsvPalette extends Drawable implements ColorPalette {
+
+  private static final int[] HUE_COLORS = {
+    Color.RED, Color.MAGENTA, Color.BLUE, Color.CYAN, Color.GREEN, Color.YELLOW, Color.RED
+  };
+  private static final float[] HUE_POSITIONS = {
+    0.000f, 0.166f, 0.333f, 0.499f, 0.666f, 0.833f, 0.999f
+  };
 
   private final Paint huePaint= new Paint(Paint.ANTI_ALIAS_FLAG);
   private final Paint saturationPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
   private final Paint outerBorderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
   private final Paint innerBorderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private final int width;
+  private final int height;
   private final int outerBorderWidth;
   private final int innerBorderWidth;
+  private final float[] hsv = new float[3];
+  private final float[] points = new float[2];
 
-  public ColorHsvPalette(Resources resources, Bitmap bitmap, int outerBorderWidth, @ColorInt int outerBorderColor, int innerBorderWidth, @ColorInt int innerBorderColor) {
-    super(resources, bitmap);
+  public ColorHsvPalette(int width, int height, int outerBorderWidth, @ColorInt int outerBorderColor, int innerBorderWidth, @ColorInt int innerBorderColor) {
+    this.width = width;
+    this.height = height;
     this.outerBorderWidth = outerBorderWidth;
     this.innerBorderWidth = innerBorderWidth;
     outerBorderPaint.setStyle(Paint.Style.STROKE);
@@ -57,27 +75,51 @@ public class ColorHsvPalette extends BitmapDrawable {
     innerBorderPaint.setStrokeWidth(innerBorderWidth);
   }
 
+  /**
+   * @deprecated the bitmap is never drawn and only its size is used. use {@link
+   *     #ColorHsvPalette(int, int, int, int, int, int)} instead.
+   */
+  @Deprecated
+  public ColorHsvPalette(Resources resources, Bitmap bitmap, int outerBorderWidth, @ColorInt int outerBorderColor, int innerBorderWidth, @ColorInt int innerBorderColor) {
+    this(bitmap.getWidth(), bitmap.getHeight(), outerBorderWidth, outerBorderColor, innerBorderWidth, innerBorderColor);
+  }
+
   @Override
-  public void draw(@NonNull Canvas canvas) {
-    int width = getBounds().width();
-    int height = getBounds().height();
+  public int getIntrinsicWidth() {
+    return width;
+  }
+
+  @Override
+  public int getIntrinsicHeight() {
+    return height;
+  }
+
+  /** builds the shaders only when the bounds are changed, so drawing doesn't allocate. */
+  @Override
+  protected void onBoundsChange(Rect bounds) {
+    super.onBoundsChange(bounds);
+    int width = bounds.width();
+    int height = bounds.height();
     float centerX = width * 0.5f;
     float centerY = height * 0.5f;
     float radius = Math.min(width, height) * 0.5f;
-    float paletteRadius = radius - innerBorderWidth - outerBorderWidth;
+    float paletteRadius = Math.max(1f, radius - innerBorderWidth - outerBorderWidth);
 
-    Shader sweepShader =
-        new SweepGradient(
-            centerX,
-            centerY,
-            new int[] {
-              Color.RED, Color.MAGENTA, Color.BLUE, Color.CYAN, Color.GREEN, Color.YELLOW, Color.RED
-            },
-            new float[] {0.000f, 0.166f, 0.333f, 0.499f, 0.666f, 0.833f, 0.999f});
+    Shader sweepShader = new SweepGradient(centerX, centerY, HUE_COLORS, HUE_POSITIONS);
     huePaint.setShader(sweepShader);
 
     Shader saturationShader = new RadialGradient(centerX, centerY, paletteRadius, Color.WHITE, 0x00FFFFFF, Shader.TileMode.CLAMP);
     saturationPaint.setShader(saturationShader);
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    int width = getBounds().width();
+    int height = getBounds().height();
+    float centerX = width * 0.5f;
+    float centerY = height * 0.5f;
+    float radius = Math.min(width, height) * 0.5f;
+    float paletteRadius = radius - innerBorderWidth - outerBorderWidth;
 
     canvas.drawCircle(centerX, centerY, paletteRadius, huePaint);
     canvas.drawCircle(centerX, centerY, paletteRadius, saturationPaint);
@@ -85,6 +127,44 @@ public class ColorHsvPalette extends BitmapDrawable {
     canvas.drawCircle(centerX, centerY, radius - (outerBorderWidth / 2f), outerBorderPaint);
   }
 
+  @Override
+  public @ColorInt int colorAt(float x, float y) {
+    Rect bounds = getBounds();
+    if (x < bounds.left || y < bounds.top || x >= bounds.right || y >= bounds.bottom) {
+      return Color.TRANSPARENT;
+    }
+    return HsvWheel.colorAt(bounds.exactCenterX(), bounds.exactCenterY(), getRadius(), x, y);
+  }
+
+  @Override
+  public boolean pointOf(@ColorInt int color, @NonNull PointF out) {
+    Rect bounds = getBounds();
+    HsvWheel.pointOf(
+        color, bounds.exactCenterX(), bounds.exactCenterY(), getRadius(), hsv, points);
+    out.set(points[0], points[1]);
+    return true;
+  }
+
+  @Override
+  public boolean isSelectable(float x, float y) {
+    Rect bounds = getBounds();
+    return HsvWheel.isSelectable(bounds.exactCenterX(), bounds.exactCenterY(), getRadius(), x, y);
+  }
+
+  @Override
+  public void clamp(@NonNull PointF point) {
+    Rect bounds = getBounds();
+    points[0] = point.x;
+    points[1] = point.y;
+    HsvWheel.clamp(bounds.exactCenterX(), bounds.exactCenterY(), getRadius(), points);
+    point.set(points[0], points[1]);
+  }
+
+  private float getRadius() {
+    Rect bounds = getBounds();
+    return Math.min(bounds.width(), bounds.height()) * 0.5f;
+  }
+
   @Override
   public void setAlpha(int alpha) {
     huePaint.setAlpha(alpha);
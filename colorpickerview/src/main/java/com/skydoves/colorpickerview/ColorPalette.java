@@ -0,0 +1,67 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.PointF;
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+
+/**
+ * ColorPalette provides colors of a palette drawable by the coordinates on the drawable.
+ *
+ * <p>{@link ColorPickerView} samples colors and selects points through this interface. A palette
+ * drawable implementing this interface is used directly, and the bitmap drawables are wrapped by
+ * {@link BitmapColorPalette}. The coordinates are the drawable's coordinates, in the space of
+ * its bounds.
+ */
+public interface ColorPalette {
+
+  /**
+   * gets the color on the coordinate.
+   *
+   * @param x coordinate x on the drawable.
+   * @param y coordinate y on the drawable.
+   * @return the color or {@link android.graphics.Color#TRANSPARENT} out of the palette.
+   */
+  @ColorInt
+  int colorAt(float x, float y);
+
+  /**
+   * finds the coordinate of the color or the closest color on the palette.
+   *
+   * @param color the color.
+   * @param out receives the coordinate on the drawable.
+   * @return true if the coordinate has been found.
+   */
+  boolean pointOf(@ColorInt int color, @NonNull PointF out);
+
+  /**
+   * gets whether the coordinate can be selected.
+   *
+   * @param x coordinate x on the drawable.
+   * @param y coordinate y on the drawable.
+   * @return true if the coordinate is on the palette.
+   */
+  boolean isSelectable(float x, float y);
+
+  /**
+   * moves the coordinate to the closest selectable coordinate.
+   *
+   * @param point the coordinate on the drawable.
+   */
+  void clamp(@NonNull PointF point);
+}
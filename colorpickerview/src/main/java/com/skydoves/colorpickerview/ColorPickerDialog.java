@@ -19,20 +19,29 @@ package com.skydoves.colorpickerview;
 import android.content.Context;
 import android.content.DialogInterface;
 import android.database.Cursor;
+import android.graphics.Color;
 import android.graphics.drawable.Drawable;
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.view.LayoutInflater;
 import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.widget.AdapterView;
 import android.widget.ListAdapter;
+import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.appcompat.app.AlertDialog;
+import com.skydoves.colorpickerview.core.ColorState;
 import com.skydoves.colorpickerview.databinding.DialogColorpickerColorpickerviewSkydovesBinding;
 import com.skydoves.colorpickerview.listeners.ColorEnvelopeListener;
+import com.skydoves.colorpickerview.listeners.ColorHsvListener;
 import com.skydoves.colorpickerview.listeners.ColorListener;
 import com.skydoves.colorpickerview.listeners.ColorPickerViewListener;
 import com.skydoves.colorpickerview.preference.ColorPickerPreferenceManager;
 import com.skydoves.colorpickerview.sliders.AlphaSlideBar;
 import com.skydoves.colorpickerview.sliders.BrightnessSlideBar;
+import java.util.ArrayDeque;
 
 /**
  * ColorPickerDialog is a dialog what having {@link ColorPickerView}, {@link AlphaSlideBar} and
@@ -54,6 +63,8 @@ public class ColorPickerDialog extends AlertDialog {
     private boolean shouldAttachAlphaSlideBar = true;
     private boolean shouldAttachBrightnessSlideBar = true;
     private int bottomSpace = SizeUtils.dp2Px(getContext(), 10);
+    private Pool pool;
+    private OnDismissListener onDismissListener;
 
     public Builder(Context context) {
       super(context);
@@ -65,10 +76,20 @@ public class ColorPickerDialog extends AlertDialog {
       onCreate();
     }
 
+    private Builder(Pool pool) {
+      super(pool.context, pool.themeResId);
+      this.pool = pool;
+      onCreate();
+    }
+
     private void onCreate() {
-      LayoutInflater layoutInflater = LayoutInflater.from(getContext());
-      this.dialogBinding =
-          DialogColorpickerColorpickerviewSkydovesBinding.inflate(layoutInflater, null, false);
+      if (pool != null) {
+        this.dialogBinding = pool.acquire();
+      } else {
+        LayoutInflater layoutInflater = LayoutInflater.from(getContext());
+        this.dialogBinding =
+            DialogColorpickerColorpickerviewSkydovesBinding.inflate(layoutInflater, null, false);
+      }
       this.colorPickerView = dialogBinding.colorPickerView;
       this.colorPickerView.attachAlphaSlider(dialogBinding.alphaSlideBar);
       this.colorPickerView.attachBrightnessSlider(dialogBinding.brightnessSlideBar);
@@ -126,14 +147,20 @@ public class ColorPickerDialog extends AlertDialog {
     }
 
     /**
-     * sets the preference name.
+     * sets the preference name. a pooled {@link ColorPickerView} is rebound by the {@link
+     * ColorPickerView#rebind(String, int)}, because its saved color is not restored again after
+     * the first layout.
      *
      * @param preferenceName preference name.
      * @return {@link Builder}.
      */
     public Builder setPreferenceName(String preferenceName) {
       if (getColorPickerView() != null) {
-        getColorPickerView().setPreferenceName(preferenceName);
+        if (pool != null) {
+          getColorPickerView().rebind(preferenceName, getColorPickerView().getColor());
+        } else {
+          getColorPickerView().setPreferenceName(preferenceName);
+        }
       }
       return this;
     }
@@ -196,6 +223,17 @@ public class ColorPickerDialog extends AlertDialog {
           } else if (colorListener instanceof ColorEnvelopeListener) {
             ((ColorEnvelopeListener) colorListener)
                 .onColorSelected(getColorPickerView().getColorEnvelope(), true);
+          } else if (colorListener instanceof ColorHsvListener) {
+            int color = getColorPickerView().getColor();
+            long state = getColorPickerView().getColorState();
+            ((ColorHsvListener) colorListener)
+                .onColorSelected(
+                    ColorState.getHue(state),
+                    ColorState.getSaturation(state),
+                    ColorState.getValue(state),
+                    Color.alpha(color),
+                    color,
+                    true);
           }
           if (getColorPickerView() != null) {
             ColorPickerPreferenceManager.getInstance(getContext())
@@ -244,6 +282,14 @@ public class ColorPickerDialog extends AlertDialog {
       }
 
       super.setView(dialogBinding.getRoot());
+      if (pool != null) {
+        final DialogColorpickerColorpickerviewSkydovesBinding binding = dialogBinding;
+        super.setOnDismissListener(
+            dialog -> {
+              if (onDismissListener != null) onDismissListener.onDismiss(dialog);
+              pool.recycle(binding);
+            });
+      }
       return super.create();
     }
 
@@ -309,6 +355,7 @@ public class ColorPickerDialog extends AlertDialog {
 
     @Override
     public Builder setOnDismissListener(OnDismissListener onDismissListener) {
+      this.onDismissListener = onDismissListener;
       super.setOnDismissListener(onDismissListener);
       return this;
     }
@@ -436,4 +483,119 @@ public class ColorPickerDialog extends AlertDialog {
       return this;
     }
   }
+
+  /**
+   * Pool keeps the inflated contents of the {@link ColorPickerDialog}s for reusing them. the
+   * contents can be inflated in advance while the main looper is idle by the {@link
+   * #prewarm(int)}, and a content is reset and returned to the pool when its dialog is dismissed.
+   * the {@link ColorPickerView} keeps its sized palette between the shows.
+   *
+   * <p>The pool holds the context, so it should be created for an activity and cleared by the
+   * {@link #clear()} when the activity is destroyed.
+   */
+  public static final class Pool {
+
+    private final Context context;
+    private final int themeResId;
+    private final int maxSize;
+    private Context themedContext;
+    private final ArrayDeque<DialogColorpickerColorpickerviewSkydovesBinding> bindings =
+        new ArrayDeque<>();
+    private int prewarmCount = 0;
+    private boolean isPrewarming = false;
+    private final MessageQueue.IdleHandler prewarmHandler =
+        () -> {
+          if (bindings.size() < prewarmCount) {
+            bindings.add(inflate());
+          }
+          isPrewarming = bindings.size() < prewarmCount;
+          return isPrewarming;
+        };
+
+    public Pool(@NonNull Context context) {
+      this(context, 0, 1);
+    }
+
+    /**
+     * @param context the context of the dialogs.
+     * @param themeResId the theme of the dialogs or 0 for the default.
+     * @param maxSize the maximum number of the pooled contents.
+     */
+    public Pool(@NonNull Context context, int themeResId, int maxSize) {
+      this.context = context;
+      this.themeResId = themeResId;
+      this.maxSize = Math.max(1, maxSize);
+    }
+
+    /**
+     * creates a {@link Builder} with a pooled content. a new content is inflated if the pool is
+     * empty.
+     *
+     * @return {@link Builder}.
+     */
+    @MainThread
+    public @NonNull Builder newBuilder() {
+      return new Builder(this);
+    }
+
+    /**
+     * inflates contents one by one while the main looper is idle, until the pool has the count of
+     * the contents.
+     *
+     * @param count the number of the contents.
+     */
+    @MainThread
+    public void prewarm(int count) {
+      prewarmCount = Math.min(maxSize, Math.max(prewarmCount, count));
+      if (!isPrewarming && bindings.size() < prewarmCount) {
+        isPrewarming = true;
+        Looper.myQueue().addIdleHandler(prewarmHandler);
+      }
+    }
+
+    /**
+     * gets the number of the pooled contents.
+     *
+     * @return the number of the contents.
+     */
+    public int size() {
+      return bindings.size();
+    }
+
+    /** removes every pooled content and stops prewarming. */
+    @MainThread
+    public void clear() {
+      prewarmCount = 0;
+      if (isPrewarming) {
+        isPrewarming = false;
+        Looper.myQueue().removeIdleHandler(prewarmHandler);
+      }
+      bindings.clear();
+      themedContext = null;
+    }
+
+    private DialogColorpickerColorpickerviewSkydovesBinding acquire() {
+      DialogColorpickerColorpickerviewSkydovesBinding binding = bindings.poll();
+      return binding != null ? binding : inflate();
+    }
+
+    private void recycle(DialogColorpickerColorpickerviewSkydovesBinding binding) {
+      if (bindings.size() >= maxSize || bindings.contains(binding)) return;
+      ViewParent parent = binding.getRoot().getParent();
+      if (parent instanceof ViewGroup) {
+        ((ViewGroup) parent).removeView(binding.getRoot());
+      }
+      binding.colorPickerView.reset();
+      bindings.add(binding);
+    }
+
+    /** inflates a content with the dialog theme, as the {@link Builder} does. */
+    private DialogColorpickerColorpickerviewSkydovesBinding inflate() {
+      if (themedContext == null) {
+        themedContext = new AlertDialog.Builder(context, themeResId).getContext();
+      }
+      LayoutInflater layoutInflater = LayoutInflater.from(themedContext);
+      return DialogColorpickerColorpickerviewSkydovesBinding.inflate(layoutInflater, null, false);
+    }
+  }
 }
@@ -0,0 +1,273 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RestrictTo;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ColorPickerMetrics records the latencies and the dispatch counts of a {@link ColorPickerView}.
+ *
+ * <p>The counters and the histograms are lock-free and never allocate while recording, so the
+ * snapshot can be taken from any thread. Durations are bucketed by the power of two microseconds.
+ */
+public class ColorPickerMetrics {
+
+  /** the number of histogram buckets. the last bucket holds every duration over its range. */
+  public static final int BUCKET_COUNT = 24;
+
+  /** Counter is a kind of the counted events. */
+  public enum Counter {
+    /** touch events received by the {@link ColorPickerView} and the sliders. */
+    TOUCH_EVENTS,
+    /** invocations of the color listener. */
+    DISPATCHES,
+    /** color changes dropped by the debounce or the throttle. */
+    COALESCED
+  }
+
+  /** Timer is a kind of the measured durations. */
+  public enum Timer {
+    /** from receiving a touch event to invoking the color listener. */
+    TOUCH_TO_LISTENER,
+    /** time spent inside the color listener. */
+    LISTENER,
+    /** time spent sampling a color from the palette. */
+    PALETTE_SAMPLING
+  }
+
+  private static final Counter[] COUNTERS = Counter.values();
+  private static final Timer[] TIMERS = Timer.values();
+
+  private final AtomicLongArray counters = new AtomicLongArray(COUNTERS.length);
+  private final AtomicLongArray buckets = new AtomicLongArray(TIMERS.length * BUCKET_COUNT);
+  private final AtomicLongArray totals = new AtomicLongArray(TIMERS.length);
+  private final AtomicLongArray maximums = new AtomicLongArray(TIMERS.length);
+  private final AtomicLong touchTime = new AtomicLong();
+
+  /** called when a touch event is received. */
+  @RestrictTo(LIBRARY_GROUP)
+  public void onTouchEvent() {
+    counters.incrementAndGet(Counter.TOUCH_EVENTS.ordinal());
+    touchTime.set(System.nanoTime());
+  }
+
+  /** called when a color change is coalesced by the debounce or the throttle. */
+  @RestrictTo(LIBRARY_GROUP)
+  public void onCoalesced() {
+    counters.incrementAndGet(Counter.COALESCED.ordinal());
+  }
+
+  /**
+   * called right before invoking the color listener.
+   *
+   * @param fromUser triggered by user or not.
+   * @return the start time of the listener for the {@link #onListenerFinished(long)}.
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public long onListenerStarted(boolean fromUser) {
+    long now = System.nanoTime();
+    counters.incrementAndGet(Counter.DISPATCHES.ordinal());
+    long touched = touchTime.getAndSet(0);
+    if (fromUser && touched != 0) {
+      record(Timer.TOUCH_TO_LISTENER, now - touched);
+    }
+    return now;
+  }
+
+  /**
+   * called right after the color listener returns.
+   *
+   * @param startTime the value returned from the {@link #onListenerStarted(boolean)}.
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public void onListenerFinished(long startTime) {
+    record(Timer.LISTENER, System.nanoTime() - startTime);
+  }
+
+  /**
+   * records a duration on the histogram of the timer.
+   *
+   * @param timer {@link Timer}.
+   * @param nanos duration in nanoseconds.
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public void record(@NonNull Timer timer, long nanos) {
+    if (nanos < 0) nanos = 0;
+    int index = timer.ordinal();
+    buckets.incrementAndGet(index * BUCKET_COUNT + bucketOf(nanos / 1000));
+    totals.addAndGet(index, nanos);
+    long maximum;
+    do {
+      maximum = maximums.get(index);
+    } while (nanos > maximum && !maximums.compareAndSet(index, maximum, nanos));
+  }
+
+  /**
+   * takes a snapshot of the current values.
+   *
+   * @return {@link Snapshot}.
+   */
+  public @NonNull Snapshot snapshot() {
+    long[] counterValues = new long[COUNTERS.length];
+    for (int i = 0; i < counterValues.length; i++) {
+      counterValues[i] = counters.get(i);
+    }
+    long[] bucketValues = new long[buckets.length()];
+    for (int i = 0; i < bucketValues.length; i++) {
+      bucketValues[i] = buckets.get(i);
+    }
+    long[] totalValues = new long[TIMERS.length];
+    long[] maximumValues = new long[TIMERS.length];
+    for (int i = 0; i < TIMERS.length; i++) {
+      totalValues[i] = totals.get(i);
+      maximumValues[i] = maximums.get(i);
+    }
+    return new Snapshot(counterValues, bucketValues, totalValues, maximumValues);
+  }
+
+  /** clears every counter and histogram. */
+  public void reset() {
+    for (int i = 0; i < counters.length(); i++) counters.set(i, 0);
+    for (int i = 0; i < buckets.length(); i++) buckets.set(i, 0);
+    for (int i = 0; i < TIMERS.length; i++) {
+      totals.set(i, 0);
+      maximums.set(i, 0);
+    }
+    touchTime.set(0);
+  }
+
+  /**
+   * gets the exclusive upper bound of the bucket in microseconds.
+   *
+   * @param bucket index of the bucket.
+   * @return upper bound or {@link Long#MAX_VALUE} for the last bucket.
+   */
+  public static long getBucketUpperBoundMicros(int bucket) {
+    if (bucket >= BUCKET_COUNT - 1) return Long.MAX_VALUE;
+    return 1L << bucket;
+  }
+
+  private static int bucketOf(long micros) {
+    return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+  }
+
+  /** Snapshot is an immutable copy of the {@link ColorPickerMetrics} values. */
+  public static class Snapshot {
+
+    private final long[] counters;
+    private final long[] buckets;
+    private final long[] totals;
+    private final long[] maximums;
+
+    private Snapshot(long[] counters, long[] buckets, long[] totals, long[] maximums) {
+      this.counters = counters;
+      this.buckets = buckets;
+      this.totals = totals;
+      this.maximums = maximums;
+    }
+
+    /**
+     * gets the value of the counter.
+     *
+     * @param counter {@link Counter}.
+     * @return counted value.
+     */
+    public long getCount(@NonNull Counter counter) {
+      return counters[counter.ordinal()];
+    }
+
+    /**
+     * gets the number of recorded durations of the timer.
+     *
+     * @param timer {@link Timer}.
+     * @return recorded count.
+     */
+    public long getCount(@NonNull Timer timer) {
+      long count = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) count += getBucketCount(timer, i);
+      return count;
+    }
+
+    /**
+     * gets the number of recorded durations in the bucket.
+     *
+     * @param timer {@link Timer}.
+     * @param bucket index of the bucket. see {@link #getBucketUpperBoundMicros(int)}.
+     * @return recorded count.
+     */
+    public long getBucketCount(@NonNull Timer timer, int bucket) {
+      return buckets[timer.ordinal() * BUCKET_COUNT + bucket];
+    }
+
+    /**
+     * gets the sum of the recorded durations.
+     *
+     * @param timer {@link Timer}.
+     * @return total duration in nanoseconds.
+     */
+    public long getTotalNanos(@NonNull Timer timer) {
+      return totals[timer.ordinal()];
+    }
+
+    /**
+     * gets the longest recorded duration.
+     *
+     * @param timer {@link Timer}.
+     * @return maximum duration in nanoseconds.
+     */
+    public long getMaxNanos(@NonNull Timer timer) {
+      return maximums[timer.ordinal()];
+    }
+
+    /**
+     * gets the average of the recorded durations.
+     *
+     * @param timer {@link Timer}.
+     * @return average duration in nanoseconds or 0 if nothing has been recorded.
+     */
+    public long getAverageNanos(@NonNull Timer timer) {
+      long count = getCount(timer);
+      return count == 0 ? 0 : getTotalNanos(timer) / count;
+    }
+
+    /**
+     * estimates a percentile of the recorded durations by the bucket bounds.
+     *
+     * @param timer {@link Timer}.
+     * @param percentile percentile between 0 and 1.
+     * @return upper bound of the bucket containing the percentile in microseconds.
+     */
+    public long getPercentileMicros(@NonNull Timer timer, float percentile) {
+      long count = getCount(timer);
+      if (count == 0) return 0;
+      long rank = (long) Math.ceil(count * Math.max(0f, Math.min(1f, percentile)));
+      long seen = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        seen += getBucketCount(timer, i);
+        if (seen >= rank && seen > 0) {
+          return Math.min(getBucketUpperBoundMicros(i), getMaxNanos(timer) / 1000 + 1);
+        }
+      }
+      return getMaxNanos(timer) / 1000 + 1;
+    }
+  }
+}
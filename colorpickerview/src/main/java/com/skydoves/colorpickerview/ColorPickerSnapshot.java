@@ -0,0 +1,251 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import com.skydoves.colorpickerview.core.ColorState;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ColorPickerSnapshot is a consistent copy of the state of a {@link ColorPickerView}, which can be
+ * taken from any thread such as a render thread.
+ *
+ * <p>The {@link ColorPickerView} publishes its state into a seqlock once at the end of each change
+ * on the main thread, after the selected color has been assembled by the sliders, and {@link
+ * ColorPickerView#snapshot(ColorPickerSnapshot)} copies it into a reused instance without any lock
+ * or allocation. The version can be compared for a cheap change detection.
+ */
+public final class ColorPickerSnapshot {
+
+  /** the slider position of the snapshot when the slider is not attached. */
+  public static final float NO_POSITION = -1f;
+
+  private long version;
+  private int color;
+  private int pureColor;
+  private int selectedX;
+  private int selectedY;
+  private boolean hasSelectedPoint;
+  private float alphaPosition = NO_POSITION;
+  private float brightnessPosition = NO_POSITION;
+  private float huePosition = NO_POSITION;
+  private long colorState;
+
+  /**
+   * gets the version of the snapshot. the version is increased once whenever a changed state of
+   * the {@link ColorPickerView} is published, so the same versions have the same state.
+   *
+   * @return version.
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * gets the selected color.
+   *
+   * @return the selected color.
+   */
+  public @ColorInt int getColor() {
+    return color;
+  }
+
+  /**
+   * gets the selected pure color without the alpha and the brightness.
+   *
+   * @return the selected pure color.
+   */
+  public @ColorInt int getPureColor() {
+    return pureColor;
+  }
+
+  /**
+   * gets the selected color as a packed HSVA color state.
+   *
+   * @return the packed color state. see {@link ColorState}.
+   */
+  public long getColorState() {
+    return colorState;
+  }
+
+  /**
+   * gets whether a point has been selected on the palette.
+   *
+   * @return true if a point has been selected.
+   */
+  public boolean hasSelectedPoint() {
+    return hasSelectedPoint;
+  }
+
+  /**
+   * gets the coordinate x of the selected point.
+   *
+   * @return coordinate x.
+   */
+  public int getSelectedX() {
+    return selectedX;
+  }
+
+  /**
+   * gets the coordinate y of the selected point.
+   *
+   * @return coordinate y.
+   */
+  public int getSelectedY() {
+    return selectedY;
+  }
+
+  /**
+   * gets the selector position of the attached {@link
+   * com.skydoves.colorpickerview.sliders.AlphaSlideBar}.
+   *
+   * @return position between 0 and 1 or {@link #NO_POSITION}.
+   */
+  public float getAlphaPosition() {
+    return alphaPosition;
+  }
+
+  /**
+   * gets the selector position of the attached {@link
+   * com.skydoves.colorpickerview.sliders.BrightnessSlideBar}.
+   *
+   * @return position between 0 and 1 or {@link #NO_POSITION}.
+   */
+  public float getBrightnessPosition() {
+    return brightnessPosition;
+  }
+
+  /**
+   * gets the selector position of the attached {@link
+   * com.skydoves.colorpickerview.sliders.HueSlideBar}.
+   *
+   * @return position between 0 and 1 or {@link #NO_POSITION}.
+   */
+  public float getHuePosition() {
+    return huePosition;
+  }
+
+  /**
+   * Publisher is a single-writer seqlock holding the packed snapshot values. the sequence is odd
+   * while the main thread is writing, and readers retry until they copy the values between the
+   * same even sequences. the values are not written again if they have not been changed.
+   */
+  static final class Publisher {
+
+    private static final int SEQUENCE = 0;
+    private static final int COLORS = 1;
+    private static final int POINT = 2;
+    private static final int SLIDERS = 3;
+    private static final int HUE = 4;
+    private static final int COLOR_STATE = 5;
+
+    private final AtomicLongArray slots = new AtomicLongArray(6);
+
+    /**
+     * writes the values if any of them has been changed.
+     *
+     * @return true if the values have been written and the version has been increased.
+     */
+    @MainThread
+    boolean publish(
+        @ColorInt int color,
+        @ColorInt int pureColor,
+        boolean hasSelectedPoint,
+        int selectedX,
+        int selectedY,
+        float alphaPosition,
+        float brightnessPosition,
+        float huePosition,
+        long colorState) {
+      long colors = pack(color, pureColor);
+      long point = pack(selectedX, selectedY);
+      long sliders = pack(floatBits(alphaPosition), floatBits(brightnessPosition));
+      long hue = pack(floatBits(huePosition), hasSelectedPoint ? 1 : 0);
+      long sequence = slots.get(SEQUENCE);
+      if (sequence != 0
+          && slots.get(COLORS) == colors
+          && slots.get(POINT) == point
+          && slots.get(SLIDERS) == sliders
+          && slots.get(HUE) == hue
+          && slots.get(COLOR_STATE) == colorState) {
+        return false;
+      }
+      slots.set(SEQUENCE, sequence + 1);
+      slots.set(COLORS, colors);
+      slots.set(POINT, point);
+      slots.set(SLIDERS, sliders);
+      slots.set(HUE, hue);
+      slots.set(COLOR_STATE, colorState);
+      slots.set(SEQUENCE, sequence + 2);
+      return true;
+    }
+
+    void read(@NonNull ColorPickerSnapshot out) {
+      long sequence;
+      long colors;
+      long point;
+      long sliders;
+      long hue;
+      long colorState;
+      while (true) {
+        sequence = slots.get(SEQUENCE);
+        if ((sequence & 1) != 0) {
+          Thread.yield();
+          continue;
+        }
+        colors = slots.get(COLORS);
+        point = slots.get(POINT);
+        sliders = slots.get(SLIDERS);
+        hue = slots.get(HUE);
+        colorState = slots.get(COLOR_STATE);
+        if (slots.get(SEQUENCE) == sequence) break;
+      }
+      out.version = sequence >>> 1;
+      out.color = high(colors);
+      out.pureColor = low(colors);
+      out.selectedX = high(point);
+      out.selectedY = low(point);
+      out.alphaPosition = Float.intBitsToFloat(high(sliders));
+      out.brightnessPosition = Float.intBitsToFloat(low(sliders));
+      out.huePosition = Float.intBitsToFloat(high(hue));
+      out.hasSelectedPoint = low(hue) != 0;
+      out.colorState = colorState;
+    }
+
+    long getVersion() {
+      return slots.get(SEQUENCE) >>> 1;
+    }
+
+    private static long pack(int high, int low) {
+      return ((long) high << 32) | (low & 0xFFFFFFFFL);
+    }
+
+    private static int floatBits(float value) {
+      return Float.floatToRawIntBits(value);
+    }
+
+    private static int high(long value) {
+      return (int) (value >>> 32);
+    }
+
+    private static int low(long value) {
+      return (int) value;
+    }
+  }
+}
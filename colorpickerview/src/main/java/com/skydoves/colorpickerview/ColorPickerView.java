@@ -16,22 +16,36 @@
 
 package com.skydoves.colorpickerview;
 
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
 import android.annotation.SuppressLint;
 import android.annotation.TargetApi;
+import android.app.Activity;
+import android.content.ContentResolver;
 import android.content.Context;
+import android.content.ContextWrapper;
 import android.content.res.TypedArray;
 import android.graphics.Bitmap;
+import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Matrix;
 import android.graphics.Point;
-import android.graphics.Rect;
+import android.graphics.PointF;
+import android.graphics.RenderNode;
 import android.graphics.drawable.BitmapDrawable;
 import android.graphics.drawable.Drawable;
+import android.net.Uri;
 import android.os.Build;
 import android.os.Handler;
+import android.os.Looper;
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.os.SystemClock;
 import android.util.AttributeSet;
 import android.view.Gravity;
 import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
+import android.view.View;
 import android.view.ViewGroup;
 import android.view.ViewTreeObserver;
 import android.widget.FrameLayout;
@@ -43,20 +57,37 @@ import androidx.annotation.MainThread;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.Px;
+import androidx.annotation.RestrictTo;
 import androidx.appcompat.content.res.AppCompatResources;
 import androidx.core.content.ContextCompat;
 import androidx.lifecycle.Lifecycle;
 import androidx.lifecycle.LifecycleObserver;
 import androidx.lifecycle.LifecycleOwner;
 import androidx.lifecycle.OnLifecycleEvent;
+import com.skydoves.colorpickerview.core.ColorPickerModel;
+import com.skydoves.colorpickerview.core.ColorStage;
+import com.skydoves.colorpickerview.core.ColorState;
+import com.skydoves.colorpickerview.core.DispatchPolicy;
 import com.skydoves.colorpickerview.flag.FlagMode;
 import com.skydoves.colorpickerview.flag.FlagView;
 import com.skydoves.colorpickerview.listeners.ColorEnvelopeListener;
+import com.skydoves.colorpickerview.listeners.ColorHsvListener;
 import com.skydoves.colorpickerview.listeners.ColorListener;
 import com.skydoves.colorpickerview.listeners.ColorPickerViewListener;
+import com.skydoves.colorpickerview.listeners.PaletteLoadListener;
 import com.skydoves.colorpickerview.preference.ColorPickerPreferenceManager;
 import com.skydoves.colorpickerview.sliders.AlphaSlideBar;
 import com.skydoves.colorpickerview.sliders.BrightnessSlideBar;
+import com.skydoves.colorpickerview.sliders.ChannelSlideBar;
+import com.skydoves.colorpickerview.sliders.HueSlideBar;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
 
 /**
  * ColorPickerView implements getting HSV colors, ARGB values, Hex color codes from any image
@@ -80,11 +111,63 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
   private Drawable selectorDrawable;
   private AlphaSlideBar alphaSlideBar;
   private BrightnessSlideBar brightnessSlider;
+  private HueSlideBar hueSlider;
+  private final List<ChannelSlideBar> channelSliders = new ArrayList<>();
+  private final ColorPickerModel model = new ColorPickerModel(SystemClock::uptimeMillis);
+  private final ColorPickerSnapshot.Publisher snapshotPublisher =
+      new ColorPickerSnapshot.Publisher();
+  private final List<ColorStream> colorStreams = new CopyOnWriteArrayList<>();
   public ColorPickerViewListener colorListener;
-  private long debounceDuration = 0;
   private final Handler debounceHandler = new Handler();
+  private ColorPickerMetrics metrics;
+  private final Runnable dispatchRunnable = this::dispatchColorChanged;
+  private long dispatchUptime;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
+  private ColorPalette colorPalette;
+  private final Matrix paletteMatrix = new Matrix();
+  private final Matrix paletteInverseMatrix = new Matrix();
+  private boolean isPaletteMatrixDirty = true;
+  private final PointF touchPoint = new PointF();
+  private final PointF samplingPoint = new PointF();
+  private final AsyncColorPalette.PaletteCallback paletteCallback =
+      new AsyncColorPalette.PaletteCallback() {
+        @Override
+        public void onColorIndexReady() {
+          applyPendingSelectColor();
+        }
+
+        @Override
+        public void onColorsRefined() {
+          refineSelectedColor();
+        }
+      };
+  private final float[] scratchHsv = new float[3];
+  private ScaleGestureDetector paletteScaleDetector;
+  private boolean isPaletteGesturing;
+  private float lastFocusX;
+  private float lastFocusY;
+  private int paletteColorIndexGeneration = 0;
+  private boolean isPaletteColorIndexBuilding = false;
+  private boolean hasPendingSelectColor = false;
+  private boolean isPendingSelectSilent = false;
+  @ColorInt private int pendingSelectColor;
+  private boolean isInflated = false;
+  private boolean isStartingUp = true;
+  private boolean isStartupWaiting = false;
+  private boolean hasInitialColor = false;
+  @ColorInt private int initialColor;
+  private SavedState savedState;
+  private boolean hasPendingRebind = false;
+  @ColorInt private int pendingRebindColor;
+  private boolean isListenerSuppressed = false;
+  private volatile int paletteLoadGeneration = 0;
+  private boolean isPaletteLoading = false;
+  private Drawable palettePlaceholder;
+  private PaletteLoadListener paletteLoadListener;
 
   private ActionMode actionMode = ActionMode.ALWAYS;
+  private PaletteLayerPolicy paletteLayerPolicy = PaletteLayerPolicy.NONE;
 
   @FloatRange(from = 0.0, to = 1.0)
   private float selector_alpha = 1.0f;
@@ -98,6 +181,13 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
 
   private boolean VISIBLE_FLAG = false;
 
+  private boolean isFlatRendering = false;
+  private PaletteRenderNode paletteRenderNode;
+  private boolean willNotDrawOnLayered = true;
+  private boolean isSelectorRelocationPending = false;
+  private float relocatingSelectorX;
+  private float relocatingSelectorY;
+
   private int outerBorderWidth = 0;
   private int outerBorderColor = Color.GRAY;
   private int innerBorderWidth = 0;
@@ -162,10 +252,27 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
         if (actionMode == 0) {
           this.actionMode = ActionMode.ALWAYS;
         } else if (actionMode == 1) this.actionMode = ActionMode.LAST;
+        else if (actionMode == 2) this.actionMode = ActionMode.THROTTLE;
+      }
+      if (a.hasValue(R.styleable.ColorPickerView_paletteLayerPolicy)) {
+        int layerPolicy = a.getInteger(R.styleable.ColorPickerView_paletteLayerPolicy, 0);
+        if (layerPolicy == 0) {
+          this.paletteLayerPolicy = PaletteLayerPolicy.NONE;
+        } else if (layerPolicy == 1) this.paletteLayerPolicy = PaletteLayerPolicy.WHILE_DRAGGING;
+        else if (layerPolicy == 2) this.paletteLayerPolicy = PaletteLayerPolicy.ALWAYS;
       }
       if (a.hasValue(R.styleable.ColorPickerView_debounceDuration)) {
-        this.debounceDuration =
-            a.getInteger(R.styleable.ColorPickerView_debounceDuration, (int) debounceDuration);
+        int debounceDuration = (int) getDebounceDuration();
+        setDebounceDuration(
+            a.getInteger(R.styleable.ColorPickerView_debounceDuration, debounceDuration));
+      }
+      if (a.hasValue(R.styleable.ColorPickerView_maxWaitDuration)) {
+        setMaxWaitDuration(
+            a.getInteger(R.styleable.ColorPickerView_maxWaitDuration, (int) getMaxWaitDuration()));
+      }
+      if (a.hasValue(R.styleable.ColorPickerView_flatRendering)) {
+        this.isFlatRendering =
+            a.getBoolean(R.styleable.ColorPickerView_flatRendering, isFlatRendering);
       }
       if (a.hasValue(R.styleable.ColorPickerView_preferenceName)) {
         this.preferenceName = a.getString(R.styleable.ColorPickerView_preferenceName);
@@ -192,15 +299,17 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
 
   private void onCreate() {
     setPadding(0, 0, 0, 0);
-    palette = new ImageView(getContext());
+    palette = createPaletteView();
     if (paletteDrawable != null) {
       palette.setImageDrawable(paletteDrawable);
+      updateColorPalette(paletteDrawable);
     }
 
     FrameLayout.LayoutParams paletteParam =
         new LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT);
     paletteParam.gravity = Gravity.CENTER;
-    addView(palette, paletteParam);
+    palette.setLayoutParams(paletteParam);
+    updatePaletteLayer(false);
 
     selector = new ImageView(getContext());
     if (selectorDrawable != null) {
@@ -215,9 +324,17 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
       selectorParam.height = SizeUtils.dp2Px(getContext(), selectorSize);
     }
     selectorParam.gravity = Gravity.CENTER;
-    addView(selector, selectorParam);
+    selector.setLayoutParams(selectorParam);
     selector.setAlpha(selector_alpha);
 
+    if (isFlatRendering) {
+      willNotDrawOnLayered = willNotDraw();
+      setWillNotDraw(false);
+    } else {
+      addView(palette);
+      addView(selector);
+    }
+
     getViewTreeObserver()
         .addOnGlobalLayoutListener(
             new ViewTreeObserver.OnGlobalLayoutListener() {
@@ -233,36 +350,163 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
             });
   }
 
+  @Override
+  protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+    super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+    if (isFlatRendering) {
+      palette.measure(widthMeasureSpec, heightMeasureSpec);
+      setMeasuredDimension(
+          Math.max(getMeasuredWidth(), palette.getMeasuredWidth()),
+          Math.max(getMeasuredHeight(), palette.getMeasuredHeight()));
+    }
+  }
+
+  @Override
+  protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+    super.onLayout(changed, left, top, right, bottom);
+    if (isFlatRendering) layoutRenderingViews();
+    isPaletteMatrixDirty = true;
+    if (isSelectorRelocationPending) {
+      isSelectorRelocationPending = false;
+      setCoordinate((int) relocatingSelectorX, (int) relocatingSelectorY);
+    }
+  }
+
+  @Override
+  protected void onDraw(Canvas canvas) {
+    super.onDraw(canvas);
+    if (!isFlatRendering) return;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q && canvas.isHardwareAccelerated()) {
+      if (paletteRenderNode == null) paletteRenderNode = new PaletteRenderNode();
+      paletteRenderNode.draw(canvas, palette);
+    } else {
+      palette.draw(canvas);
+    }
+    float alpha = selector.getAlpha();
+    if (selector.getVisibility() == VISIBLE && alpha > 0f) {
+      float left = selector.getX();
+      float top = selector.getY();
+      int saveCount =
+          alpha < 1f
+              ? saveLayerAlpha(
+                  canvas,
+                  left,
+                  top,
+                  left + selector.getWidth(),
+                  top + selector.getHeight(),
+                  (int) (alpha * 255))
+              : canvas.save();
+      canvas.translate(left, top);
+      selector.draw(canvas);
+      canvas.restoreToCount(saveCount);
+    }
+  }
+
+  /** saves a translucent layer, by the flags-free overload where it is available. */
+  @SuppressWarnings("deprecation")
+  private static int saveLayerAlpha(
+      Canvas canvas, float left, float top, float right, float bottom, int alpha) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+      return canvas.saveLayerAlpha(left, top, right, bottom, alpha);
+    }
+    return canvas.saveLayerAlpha(left, top, right, bottom, alpha, Canvas.ALL_SAVE_FLAG);
+  }
+
+  /** measures and lays out the palette and the selector which are not attached on flat mode. */
+  private void layoutRenderingViews() {
+    palette.measure(
+        MeasureSpec.makeMeasureSpec(getWidth(), MeasureSpec.EXACTLY),
+        MeasureSpec.makeMeasureSpec(getHeight(), MeasureSpec.EXACTLY));
+    palette.layout(0, 0, getWidth(), getHeight());
+    if (paletteRenderNode != null) paletteRenderNode.isDirty = true;
+    int selectorSpec =
+        selectorSize != 0
+            ? MeasureSpec.makeMeasureSpec(
+                SizeUtils.dp2Px(getContext(), selectorSize), MeasureSpec.EXACTLY)
+            : MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+    selector.measure(selectorSpec, selectorSpec);
+    selector.layout(0, 0, selector.getMeasuredWidth(), selector.getMeasuredHeight());
+  }
+
+  /**
+   * redraws the palette on flat mode. a selector move just invalidates the view, and the palette
+   * is drawn from its cached render node unless it has been changed.
+   */
+  private void invalidatePalette() {
+    if (paletteRenderNode != null) paletteRenderNode.isDirty = true;
+    invalidate();
+  }
+
   @Override
   protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
     super.onSizeChanged(width, height, oldWidth, oldHeight);
 
     if (palette.getDrawable() == null) {
       palette.setImageDrawable(createColorHsvPalette());
+      updateColorPalette(palette.getDrawable());
     }
   }
 
+  /** cancels the color streams, so they don't keep the detached view and their consumers. */
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+    cancelColorStreams();
+  }
+
+  /**
+   * restores the persisted, the rebound or the initial state by a single pass after the first
+   * layout. the color listener is not invoked until the {@link #completeStartup()}, which emits
+   * the final state once after the sliders are laid out.
+   */
   private void onFinishInflated() {
+    isInflated = true;
     if (getParent() != null && getParent() instanceof ViewGroup) {
       ((ViewGroup) getParent()).setClipChildren(false);
     }
 
-    if (getPreferenceName() != null) {
+    // the saved instance state is restored on the completeStartup(), after the sliders.
+    boolean hasPreference = savedState == null && getPreferenceName() != null;
+    int persisted = hasPreference ? preferenceManager.getColor(getPreferenceName(), -1) : -1;
+    if (savedState != null) {
+      hasPendingRebind = false;
+    } else if (hasPendingRebind) {
+      hasPendingRebind = false;
+      selectSilently(pendingRebindColor);
+    } else if (persisted != -1) {
       preferenceManager.restoreColorPickerData(this);
-      final int persisted = preferenceManager.getColor(getPreferenceName(), -1);
-      if (palette.getDrawable() instanceof ColorHsvPalette && persisted != -1) {
-        post(
-            () -> {
-              try {
-                selectByHsvColor(persisted);
-              } catch (IllegalAccessException e) {
-                e.printStackTrace();
-              }
-            });
+      if (palette.getDrawable() instanceof ColorHsvPalette) {
+        selectByColor(persisted);
       }
+    } else if (hasInitialColor) {
+      selectByColor(initialColor);
+    } else if (hasPreference) {
+      preferenceManager.restoreColorPickerData(this);
     } else {
       selectCenter();
     }
+    hasInitialColor = false;
+    post(this::completeStartup);
+  }
+
+  /**
+   * finishes the startup. it runs after the sliders have restored their positions on the same
+   * layout, and invokes the color listener once with the assembled color. if the selection is
+   * waiting for the color index of the palette, the startup is finished after it is applied.
+   */
+  private void completeStartup() {
+    if (!isStartingUp) return;
+    isStartupWaiting = hasPendingSelectColor && isColorIndexPending();
+    if (isStartupWaiting) return;
+    if (savedState != null) {
+      restoreSavedState(savedState);
+      savedState = null;
+    }
+    isStartingUp = false;
+    fireColorListener(getColor(), false);
+    if (selectedPoint != null) {
+      notifyToFlagView(selectedPoint);
+    }
   }
 
   /**
@@ -282,38 +526,130 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
     this.selector_alpha = builder.selector_alpha;
     this.flag_alpha = builder.flag_alpha;
     this.selectorSize = builder.selectorSize;
-    this.debounceDuration = builder.debounceDuration;
+    setDebounceDuration(builder.debounceDuration);
+    setMaxWaitDuration(builder.maxWaitDuration);
+    this.isFlatRendering = builder.isFlatRendering;
     onCreate();
 
     if (builder.colorPickerViewListener != null) setColorListener(builder.colorPickerViewListener);
     if (builder.alphaSlideBar != null) attachAlphaSlider(builder.alphaSlideBar);
     if (builder.brightnessSlider != null) attachBrightnessSlider(builder.brightnessSlider);
     if (builder.actionMode != null) this.actionMode = builder.actionMode;
+    if (builder.paletteLayerPolicy != null) setPaletteLayerPolicy(builder.paletteLayerPolicy);
     if (builder.flagView != null) setFlagView(builder.flagView);
     if (builder.preferenceName != null) setPreferenceName(builder.preferenceName);
     if (builder.initialColor != 0) setInitialColor(builder.initialColor);
     if (builder.lifecycleOwner != null) setLifecycleOwner(builder.lifecycleOwner);
   }
 
+  /** creates the palette view, which redraws the {@link ColorPickerView} on flat mode. */
+  private ImageView createPaletteView() {
+    return new ImageView(getContext()) {
+      @Override
+      public void invalidateDrawable(@NonNull Drawable drawable) {
+        super.invalidateDrawable(drawable);
+        if (isFlatRendering) invalidatePalette();
+      }
+    };
+  }
+
   @SuppressLint("ClickableViewAccessibility")
   @Override
   public boolean onTouchEvent(MotionEvent event) {
     if (!this.isEnabled()) {
       return false;
     }
+    if (colorPalette instanceof ZoomableColorPalette && onPaletteGesture(event)) {
+      return true;
+    }
     switch (event.getActionMasked()) {
       case MotionEvent.ACTION_DOWN:
       case MotionEvent.ACTION_MOVE:
       case MotionEvent.ACTION_UP:
+        if (metrics != null) metrics.onTouchEvent();
         if (getFlagView() != null) getFlagView().receiveOnTouchEvent(event);
         selector.setPressed(true);
+        updatePaletteLayer(event.getActionMasked() != MotionEvent.ACTION_UP);
         return onTouchReceived(event);
       default:
         selector.setPressed(false);
+        updatePaletteLayer(false);
         return false;
     }
   }
 
+  /**
+   * zooms and pans a {@link ZoomableColorPalette} by a pinch gesture. the color is not changed
+   * until every pointer of the gesture is released.
+   *
+   * @param event {@link MotionEvent}.
+   * @return consumed by the gesture or not.
+   */
+  private boolean onPaletteGesture(MotionEvent event) {
+    if (paletteScaleDetector == null) {
+      paletteScaleDetector =
+          new ScaleGestureDetector(
+              getContext(),
+              new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+                @Override
+                public boolean onScaleBegin(ScaleGestureDetector detector) {
+                  lastFocusX = detector.getFocusX();
+                  lastFocusY = detector.getFocusY();
+                  return true;
+                }
+
+                @Override
+                public boolean onScale(ScaleGestureDetector detector) {
+                  transformPalette(
+                      detector.getScaleFactor(), detector.getFocusX(), detector.getFocusY());
+                  return true;
+                }
+              });
+    }
+    paletteScaleDetector.onTouchEvent(event);
+    if (event.getPointerCount() > 1 && !isPaletteGesturing) {
+      isPaletteGesturing = true;
+      selector.setPressed(false);
+      updatePaletteLayer(false);
+    }
+    if (!isPaletteGesturing) return false;
+    int action = event.getActionMasked();
+    if (action == MotionEvent.ACTION_UP || action == MotionEvent.ACTION_CANCEL) {
+      isPaletteGesturing = false;
+    }
+    return true;
+  }
+
+  /** zooms and pans the {@link ZoomableColorPalette} while keeping the selected image pixel. */
+  private void transformPalette(float factor, float focusX, float focusY) {
+    ZoomableColorPalette zoomablePalette = (ZoomableColorPalette) colorPalette;
+    if (selectedPoint != null) {
+      touchPoint.set(selectedPoint.x, selectedPoint.y);
+      PointMapper.mapToPalette(this, touchPoint);
+      zoomablePalette.mapToImage(touchPoint);
+    }
+
+    samplingPoint.set(lastFocusX, lastFocusY);
+    PointMapper.mapToPalette(this, samplingPoint);
+    float lastPaletteFocusX = samplingPoint.x;
+    float lastPaletteFocusY = samplingPoint.y;
+    samplingPoint.set(focusX, focusY);
+    PointMapper.mapToPalette(this, samplingPoint);
+    zoomablePalette.zoomBy(factor, samplingPoint.x, samplingPoint.y);
+    zoomablePalette.panBy(samplingPoint.x - lastPaletteFocusX, samplingPoint.y - lastPaletteFocusY);
+    lastFocusX = focusX;
+    lastFocusY = focusY;
+
+    if (selectedPoint != null) {
+      zoomablePalette.mapFromImage(touchPoint);
+      PointMapper.mapFromPalette(this, touchPoint);
+      setSelectedPoint((int) touchPoint.x, (int) touchPoint.y);
+      setCoordinate(selectedPoint.x, selectedPoint.y);
+      if (flagView != null) notifyToFlagView(selectedPoint);
+      publishSnapshot();
+    }
+  }
+
   /**
    * notify to the other views by the onTouchEvent.
    *
@@ -322,14 +658,23 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    */
   @MainThread
   private boolean onTouchReceived(final MotionEvent event) {
-    Point snapPoint =
-        PointMapper.getColorPoint(this, new Point((int) event.getX(), (int) event.getY()));
-    int pixelColor = getColorFromBitmap(snapPoint.x, snapPoint.y);
+    touchPoint.set((int) event.getX(), (int) event.getY());
+    int pixelColor = Color.TRANSPARENT;
+    if (colorPalette != null) {
+      PointMapper.mapToPalette(this, touchPoint);
+      colorPalette.clamp(touchPoint);
+      pixelColor = samplePaletteColor(touchPoint.x, touchPoint.y);
+      PointMapper.mapFromPalette(this, touchPoint);
+    }
 
     this.selectedPureColor = pixelColor;
     this.selectedColor = pixelColor;
-    this.selectedPoint = PointMapper.getColorPoint(this, new Point(snapPoint.x, snapPoint.y));
-    setCoordinate(snapPoint.x, snapPoint.y);
+    if (model.hasStages()) {
+      assembleColorState();
+    }
+    setSelectedPoint((int) touchPoint.x, (int) touchPoint.y);
+    setCoordinate(selectedPoint.x, selectedPoint.y);
+    publishSnapshot();
 
     if (actionMode == ActionMode.LAST) {
       notifyToFlagView(this.selectedPoint);
@@ -346,18 +691,139 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
     return palette.getDrawable() != null && palette.getDrawable() instanceof ColorHsvPalette;
   }
 
+  /**
+   * gets whether the palette is a {@link ColorSvPalette}.
+   *
+   * @return true if the palette is a {@link ColorSvPalette}.
+   */
+  public boolean isSvPalette() {
+    return palette.getDrawable() instanceof ColorSvPalette;
+  }
+
+  /**
+   * gets the {@link ColorPalette} which provides colors of the palette drawable.
+   *
+   * @return {@link ColorPalette} or null if the palette drawable doesn't provide colors.
+   */
+  public @Nullable ColorPalette getColorPalette() {
+    return colorPalette;
+  }
+
+  /** gets the matrix which maps the palette drawable's coordinates on the view. */
+  Matrix getPaletteMatrix() {
+    refreshPaletteMatrix();
+    return paletteMatrix;
+  }
+
+  /** gets the matrix which maps the view's coordinates on the palette drawable. */
+  Matrix getPaletteInverseMatrix() {
+    refreshPaletteMatrix();
+    return paletteInverseMatrix;
+  }
+
+  /** copies and inverts the palette's image matrix only after a layout or a palette change. */
+  private void refreshPaletteMatrix() {
+    if (!isPaletteMatrixDirty) return;
+    isPaletteMatrixDirty = false;
+    paletteMatrix.set(palette.getImageMatrix());
+    paletteMatrix.invert(paletteInverseMatrix);
+  }
+
+  /**
+   * gets the drawable of the palette.
+   *
+   * @return palette drawable.
+   */
+  public @Nullable Drawable getPaletteDrawable() {
+    return palette.getDrawable();
+  }
+
+  /**
+   * called by the {@link HueSlideBar} when the hue is changed. it changes the hue of the {@link
+   * ColorSvPalette}, or moves the selector to the hue on the {@link ColorHsvPalette}. the other
+   * palettes are not changed by the hue.
+   *
+   * @param hue hue between 0 and 360.
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public void notifyHueChanged(float hue) {
+    Drawable drawable = palette.getDrawable();
+    if (drawable instanceof ColorSvPalette) {
+      ((ColorSvPalette) drawable).setHue(hue);
+      if (isFlatRendering) invalidatePalette();
+      if (selectedPoint != null) {
+        selectedPureColor = getColorFromBitmap(selectedPoint.x, selectedPoint.y);
+      }
+    } else if (drawable instanceof ColorHsvPalette && selectedPoint != null) {
+      Color.colorToHSV(selectedPureColor, scratchHsv);
+      scratchHsv[0] = hue;
+      ((ColorHsvPalette) drawable).pointOf(Color.HSVToColor(scratchHsv), samplingPoint);
+      selectedPureColor = samplePaletteColor(samplingPoint.x, samplingPoint.y);
+      PointMapper.mapFromPalette(this, samplingPoint);
+      setSelectedPoint((int) samplingPoint.x, (int) samplingPoint.y);
+      setCoordinate(selectedPoint.x, selectedPoint.y);
+      if (flagView != null) notifyToFlagView(selectedPoint);
+    }
+  }
+
   /**
    * notifies color changes to {@link ColorListener}, {@link FlagView}. {@link AlphaSlideBar},
    * {@link BrightnessSlideBar} with the debounce duration.
+   *
+   * <p>On the {@link ActionMode#THROTTLE}, the first change is notified immediately and the next
+   * changes are notified at most once per the debounce duration with the latest color.
    */
-  private void notifyColorChanged() {
-    this.debounceHandler.removeCallbacksAndMessages(null);
-    Runnable debounceRunnable =
-        () -> {
-          fireColorListener(getColor(), true);
-          notifyToFlagView(selectedPoint);
-        };
-    this.debounceHandler.postDelayed(debounceRunnable, this.debounceDuration);
+  @RestrictTo(LIBRARY_GROUP)
+  public void notifyColorChanged() {
+    DispatchPolicy dispatchPolicy = model.getDispatchPolicy();
+    if (dispatchPolicy.isPending() && metrics != null) metrics.onCoalesced();
+    long delay = dispatchPolicy.onColorChanged(actionMode == ActionMode.THROTTLE);
+    if (delay == DispatchPolicy.DISPATCH_NOW) {
+      dispatchColorChanged();
+    } else if (delay != DispatchPolicy.KEEP_SCHEDULED) {
+      debounceHandler.removeCallbacks(dispatchRunnable);
+      debounceHandler.postDelayed(dispatchRunnable, delay);
+      dispatchUptime = model.getClock().uptimeMillis() + delay;
+    }
+  }
+
+  /**
+   * gets whether a color change is waiting for the debounce or the throttle.
+   *
+   * @return true if a dispatch is pending.
+   */
+  boolean hasPendingDispatch() {
+    return model.getDispatchPolicy().isPending();
+  }
+
+  /**
+   * gets the uptime when the pending dispatch is scheduled.
+   *
+   * @return uptime milliseconds of the pending dispatch.
+   */
+  long getPendingDispatchUptime() {
+    return dispatchUptime;
+  }
+
+  /**
+   * runs the pending dispatch immediately if it is scheduled at or before the uptime.
+   *
+   * @param uptimeMillis the current uptime milliseconds.
+   */
+  void runPendingDispatch(long uptimeMillis) {
+    if (hasPendingDispatch() && dispatchUptime <= uptimeMillis) {
+      debounceHandler.removeCallbacks(dispatchRunnable);
+      dispatchColorChanged();
+    }
+  }
+
+  /** invokes the color listener and notifies to the {@link FlagView} with the latest color. */
+  private void dispatchColorChanged() {
+    model.getDispatchPolicy().onDispatched();
+    fireColorListener(getColor(), true);
+    if (selectedPoint != null) {
+      notifyToFlagView(selectedPoint);
+    }
   }
 
   /**
@@ -368,46 +834,32 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    * @return selected color.
    */
   protected int getColorFromBitmap(float x, float y) {
-    Matrix invertMatrix = new Matrix();
-    palette.getImageMatrix().invert(invertMatrix);
-
-    float[] mappedPoints = new float[] {x, y};
-    invertMatrix.mapPoints(mappedPoints);
-
-    if (palette.getDrawable() != null
-        && palette.getDrawable() instanceof BitmapDrawable
-        && mappedPoints[0] >= 0
-        && mappedPoints[1] >= 0
-        && mappedPoints[0] < palette.getDrawable().getIntrinsicWidth()
-        && mappedPoints[1] < palette.getDrawable().getIntrinsicHeight()) {
-
-      invalidate();
+    if (colorPalette == null) return Color.TRANSPARENT;
+    samplingPoint.set(x, y);
+    PointMapper.mapToPalette(this, samplingPoint);
+    return samplePaletteColor(samplingPoint.x, samplingPoint.y);
+  }
 
-      if (palette.getDrawable() instanceof ColorHsvPalette) {
-        x = x - getWidth() * 0.5f;
-        y = y - getHeight() * 0.5f;
-        double r = Math.sqrt(x * x + y * y);
-        float radius = Math.min(getWidth(), getHeight()) * 0.5f;
-        float[] hsv = {0, 0, 1};
-        hsv[0] = (float) (Math.atan2(y, -x) / Math.PI * 180f) + 180;
-        hsv[1] = Math.max(0f, Math.min(1f, (float) (r / radius)));
-        return Color.HSVToColor(hsv);
-      } else {
-        Rect rect = palette.getDrawable().getBounds();
-        float scaleX = mappedPoints[0] / rect.width();
-        int x1 = (int) (scaleX * ((BitmapDrawable) palette.getDrawable()).getBitmap().getWidth());
-        float scaleY = mappedPoints[1] / rect.height();
-        int y1 = (int) (scaleY * ((BitmapDrawable) palette.getDrawable()).getBitmap().getHeight());
-        return ((BitmapDrawable) palette.getDrawable()).getBitmap().getPixel(x1, y1);
-      }
-    }
-    return 0;
+  /**
+   * gets a color on the palette drawable's coordinate.
+   *
+   * @param x coordinate x on the palette drawable.
+   * @param y coordinate y on the palette drawable.
+   * @return selected color.
+   */
+  private int samplePaletteColor(float x, float y) {
+    if (metrics == null) return colorPalette.colorAt(x, y);
+    long startTime = System.nanoTime();
+    int color = colorPalette.colorAt(x, y);
+    metrics.record(ColorPickerMetrics.Timer.PALETTE_SAMPLING, System.nanoTime() - startTime);
+    return color;
   }
 
   /**
    * sets a {@link ColorPickerViewListener} on the {@link ColorPickerView}.
    *
-   * @param colorListener {@link ColorListener} or {@link ColorEnvelopeListener}.
+   * @param colorListener {@link ColorListener}, {@link ColorEnvelopeListener} or {@link
+   *     ColorHsvListener}.
    */
   public void setColorListener(ColorPickerViewListener colorListener) {
     this.colorListener = colorListener;
@@ -420,51 +872,134 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    * @param fromUser triggered by user or not.
    */
   public void fireColorListener(@ColorInt int color, final boolean fromUser) {
+    this.selectedColor = color;
+    if (model.hasStages()) {
+      assembleColorState();
+    }
+    publishSnapshot();
     if (this.colorListener != null) {
-      this.selectedColor = color;
-      if (getAlphaSlideBar() != null) {
-        getAlphaSlideBar().notifyColor();
-        this.selectedColor = getAlphaSlideBar().assembleColor();
-      }
-      if (getBrightnessSlider() != null) {
-        getBrightnessSlider().notifyColor();
-        this.selectedColor = getBrightnessSlider().assembleColor();
-      }
+      dispatchColorListener(fromUser);
+    }
+  }
+
+  /**
+   * called by the attached sliders when their positions are changed. the color state is updated
+   * incrementally from the color state assembled before the slider, so only the slider and the
+   * sliders after it are applied again.
+   *
+   * <p>On the {@link ActionMode#THROTTLE}, the color state is updated immediately by the user's
+   * changes and only the color listener is throttled.
+   *
+   * @param slider the changed slider.
+   * @param fromUser triggered by user or not.
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public void onSliderChanged(@NonNull ColorStage slider, boolean fromUser) {
+    long state =
+        model.canReassemble(slider, selectedPureColor)
+            ? model.reassemble(slider)
+            : model.assemble(selectedPureColor);
+    if (fromUser && actionMode == ActionMode.THROTTLE) {
+      setColorState(state);
+      publishSnapshot();
+      notifyColorChanged();
+    } else {
+      updateColorState(state, fromUser);
+    }
+  }
+
+  /**
+   * sets the packed HSVA color state as the selected color and invokes the color listener.
+   *
+   * @param state the packed color state. see {@link ColorState}.
+   * @param fromUser triggered by user or not.
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public void updateColorState(long state, boolean fromUser) {
+    setColorState(state);
+    publishSnapshot();
+    if (colorListener != null) {
+      dispatchColorListener(fromUser);
+    }
+  }
+
+  /**
+   * gets the selected color as a packed HSVA color state.
+   *
+   * @return the packed color state. see {@link ColorState}.
+   */
+  public long getColorState() {
+    return model.getColorState(selectedColor);
+  }
+
+  private void setColorState(long state) {
+    model.setColorState(state);
+    selectedColor = model.getColor();
+  }
 
+  /** invokes the color listener with the selected color and refreshes the flag and the selector. */
+  private void dispatchColorListener(final boolean fromUser) {
+    if (!isListenerSuppressed && !isStartingUp) {
+      long startTime = metrics != null ? metrics.onListenerStarted(fromUser) : 0;
       if (colorListener instanceof ColorListener) {
         ((ColorListener) colorListener).onColorSelected(selectedColor, fromUser);
       } else if (colorListener instanceof ColorEnvelopeListener) {
         ColorEnvelope envelope = new ColorEnvelope(selectedColor);
         ((ColorEnvelopeListener) colorListener).onColorSelected(envelope, fromUser);
+      } else if (colorListener instanceof ColorHsvListener) {
+        long state = getColorState();
+        ((ColorHsvListener) colorListener)
+            .onColorSelected(
+                ColorState.getHue(state),
+                ColorState.getSaturation(state),
+                ColorState.getValue(state),
+                Color.alpha(selectedColor),
+                selectedColor,
+                fromUser);
       }
+      if (metrics != null) metrics.onListenerFinished(startTime);
+    }
 
-      if (this.flagView != null) {
-        this.flagView.onRefresh(getColorEnvelope());
-        invalidate();
-      }
+    if (this.flagView != null) {
+      this.flagView.refreshColor(selectedColor);
+    }
 
-      if (VISIBLE_FLAG) {
-        VISIBLE_FLAG = false;
-        if (this.selector != null) {
-          this.selector.setAlpha(selector_alpha);
-        }
-        if (this.flagView != null) {
-          this.flagView.setAlpha(flag_alpha);
-        }
+    if (VISIBLE_FLAG) {
+      VISIBLE_FLAG = false;
+      if (this.selector != null) {
+        this.selector.setAlpha(selector_alpha);
+        if (isFlatRendering) invalidate();
+      }
+      if (this.flagView != null) {
+        this.flagView.setAlpha(flag_alpha);
       }
     }
   }
 
   /** notify to sliders about a new trigger. */
   private void notifyToSlideBars() {
-    if (alphaSlideBar != null) alphaSlideBar.notifyColor();
-    if (brightnessSlider != null) {
-      brightnessSlider.notifyColor();
-
-      if (brightnessSlider.assembleColor() != Color.WHITE) {
-        selectedColor = brightnessSlider.assembleColor();
-      } else if (alphaSlideBar != null) selectedColor = alphaSlideBar.assembleColor();
+    if (model.hasStages()) {
+      assembleColorState();
     }
+    publishSnapshot();
+  }
+
+  /** assembles the color state of the pure color through every attached slider. */
+  private void assembleColorState() {
+    setColorState(model.assemble(selectedPureColor));
+  }
+
+  /**
+   * updates the stages of the {@link ColorPickerModel} by the attached sliders. the sliders are
+   * applied by a single pass, in the order of the {@link BrightnessSlideBar}, the {@link
+   * ChannelSlideBar}s in the attached order and the {@link AlphaSlideBar}.
+   */
+  private void updateColorStages() {
+    List<ColorStage> stages = new ArrayList<>();
+    if (brightnessSlider != null) stages.add(brightnessSlider);
+    stages.addAll(channelSliders);
+    if (alphaSlideBar != null) stages.add(alphaSlideBar);
+    model.setStages(stages);
   }
 
   /**
@@ -473,31 +1008,23 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    * @param point a new coordinate {@link Point}.
    */
   private void notifyToFlagView(Point point) {
-    Point centerPoint = getCenterPoint(point.x, point.y);
-    if (flagView != null) {
-      if (flagView.getFlagMode() == FlagMode.ALWAYS) flagView.visible();
-      int posX = centerPoint.x - flagView.getWidth() / 2 + selector.getWidth() / 2;
-      if (flagView.isFlipAble()) {
-        if (centerPoint.y - flagView.getHeight() > 0) {
-          flagView.setRotation(0);
-          flagView.setX(posX);
-          flagView.setY(centerPoint.y - flagView.getHeight());
-        } else {
-          flagView.setRotation(180);
-          flagView.setX(posX);
-          flagView.setY(centerPoint.y + flagView.getHeight() - selector.getHeight() * 0.5f);
-        }
-      } else {
-        flagView.setRotation(0);
-        flagView.setX(posX);
-        flagView.setY(centerPoint.y - flagView.getHeight());
-      }
-      flagView.onRefresh(getColorEnvelope());
-      if (posX < 0) flagView.setX(0);
-      if (posX + flagView.getMeasuredWidth() > getMeasuredWidth()) {
-        flagView.setX(getMeasuredWidth() - flagView.getMeasuredWidth());
-      }
+    if (flagView == null) return;
+    if (flagView.getFlagMode() == FlagMode.ALWAYS) flagView.visible();
+    int centerX = point.x - selector.getMeasuredWidth() / 2;
+    int centerY = point.y - selector.getMeasuredHeight() / 2;
+    int posX = centerX - flagView.getWidth() / 2 + selector.getWidth() / 2;
+    float flagX = posX;
+    if (posX < 0) flagX = 0;
+    if (posX + flagView.getMeasuredWidth() > getMeasuredWidth()) {
+      flagX = getMeasuredWidth() - flagView.getMeasuredWidth();
     }
+    if (flagView.isFlipAble() && centerY - flagView.getHeight() <= 0) {
+      flagView.updatePosition(
+          flagX, centerY + flagView.getHeight() - selector.getHeight() * 0.5f, 180);
+    } else {
+      flagView.updatePosition(flagX, centerY - flagView.getHeight(), 0);
+    }
+    flagView.refreshColor(getColor());
   }
 
   /**
@@ -560,6 +1087,7 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    * @param flagView {@link FlagView}.
    */
   public void setFlagView(@NonNull FlagView flagView) {
+    if (this.flagView != null) removeView(this.flagView);
     flagView.gone();
     addView(flagView);
     this.flagView = flagView;
@@ -576,30 +1104,165 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    * @return debounceDuration.
    */
   public long getDebounceDuration() {
-    return this.debounceDuration;
+    return model.getDispatchPolicy().getDebounceDuration();
   }
 
   /**
    * sets a debounce duration.
    *
    * <p>only emit a color to the listener if a particular timespan has passed without it emitting
-   * another value.
+   * another value. On the {@link ActionMode#THROTTLE}, it is the minimum interval between emits.
    *
    * @param debounceDuration intervals.
    */
   public void setDebounceDuration(long debounceDuration) {
-    this.debounceDuration = debounceDuration;
+    model.getDispatchPolicy().setDebounceDuration(debounceDuration);
   }
 
   /**
-   * gets center coordinate of the selector.
+   * gets a max wait duration.
    *
-   * @param x coordinate x.
-   * @param y coordinate y.
-   * @return the center coordinate of the selector.
+   * <p>the maximum time a color can be delayed by the debounce duration before it is emitted.
+   *
+   * @return maxWaitDuration.
+   */
+  public long getMaxWaitDuration() {
+    return model.getDispatchPolicy().getMaxWaitDuration();
+  }
+
+  /**
+   * sets a max wait duration.
+   *
+   * <p>the maximum time a color can be delayed by the debounce duration before it is emitted, so
+   * the listener is still invoked periodically while dragging continuously. 0 means no limit.
+   *
+   * @param maxWaitDuration the maximum delay.
+   */
+  public void setMaxWaitDuration(long maxWaitDuration) {
+    model.getDispatchPolicy().setMaxWaitDuration(maxWaitDuration);
+  }
+
+  /**
+   * copies a consistent state of the {@link ColorPickerView} into the snapshot. it can be called
+   * from any thread without any lock or allocation.
+   *
+   * @param out the snapshot to be reused.
+   * @return the snapshot.
+   */
+  public @NonNull ColorPickerSnapshot snapshot(@NonNull ColorPickerSnapshot out) {
+    snapshotPublisher.read(out);
+    return out;
+  }
+
+  /**
+   * takes a consistent state of the {@link ColorPickerView} into a new snapshot.
+   *
+   * @return {@link ColorPickerSnapshot}.
+   */
+  public @NonNull ColorPickerSnapshot snapshot() {
+    return snapshot(new ColorPickerSnapshot());
+  }
+
+  /**
+   * gets the version of the published state. it can be compared with the {@link
+   * ColorPickerSnapshot#getVersion()} to detect changes without taking a snapshot.
+   *
+   * @return version.
+   */
+  public long getSnapshotVersion() {
+    return snapshotPublisher.getVersion();
+  }
+
+  /**
+   * subscribes the state of the {@link ColorPickerView} by a conflated {@link ColorStream}. the
+   * consumer is invoked on the executor with the latest state, and the intermediate states are
+   * skipped while the consumer is busy. it is cancelled when the {@link ColorPickerView} is
+   * detached from the window or on the {@link Lifecycle.Event#ON_DESTROY} of the lifecycle owner.
+   *
+   * @param executor the executor which the consumer is invoked on.
+   * @param consumer {@link ColorStream.Consumer}.
+   * @return {@link ColorStream}.
    */
-  private Point getCenterPoint(int x, int y) {
-    return new Point(x - (selector.getMeasuredWidth() / 2), y - (selector.getMeasuredHeight() / 2));
+  public @NonNull ColorStream colorStream(
+      @NonNull Executor executor, @NonNull ColorStream.Consumer consumer) {
+    ColorStream colorStream = new ColorStream(this, executor, consumer);
+    colorStreams.add(colorStream);
+    colorStream.onPublished();
+    return colorStream;
+  }
+
+  /**
+   * subscribes the state of the {@link ColorPickerView} by a {@link ColorStream} which is only
+   * pulled by the {@link ColorStream#poll(ColorPickerSnapshot)}.
+   *
+   * @return {@link ColorStream}.
+   */
+  public @NonNull ColorStream colorStream() {
+    ColorStream colorStream = new ColorStream(this, null, null);
+    colorStreams.add(colorStream);
+    return colorStream;
+  }
+
+  void removeColorStream(@NonNull ColorStream colorStream) {
+    colorStreams.remove(colorStream);
+  }
+
+  private void cancelColorStreams() {
+    for (ColorStream colorStream : colorStreams) {
+      colorStream.cancel();
+    }
+  }
+
+  /**
+   * publishes the current state for the {@link #snapshot(ColorPickerSnapshot)} at the end of an
+   * update, after the selected color has been assembled. the version and the streams are not
+   * notified if nothing has been changed.
+   */
+  @MainThread
+  private void publishSnapshot() {
+    boolean isChanged =
+        snapshotPublisher.publish(
+            selectedColor,
+            selectedPureColor,
+            selectedPoint != null,
+            selectedPoint != null ? selectedPoint.x : 0,
+            selectedPoint != null ? selectedPoint.y : 0,
+            alphaSlideBar != null
+                ? alphaSlideBar.getSelectorPosition()
+                : ColorPickerSnapshot.NO_POSITION,
+            brightnessSlider != null
+                ? brightnessSlider.getSelectorPosition()
+                : ColorPickerSnapshot.NO_POSITION,
+            hueSlider != null ? hueSlider.getSelectorPosition() : ColorPickerSnapshot.NO_POSITION,
+            getColorState());
+    if (isChanged && !colorStreams.isEmpty()) {
+      for (ColorStream colorStream : colorStreams) {
+        colorStream.onPublished();
+      }
+    }
+  }
+
+  /**
+   * gets the {@link ColorPickerMetrics} recording on the {@link ColorPickerView}.
+   *
+   * @return {@link ColorPickerMetrics}.
+   */
+  public @Nullable ColorPickerMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * sets a {@link ColorPickerMetrics} for recording the latencies and the dispatch counts on the
+   * {@link ColorPickerView} and the attached sliders. nothing is recorded by default.
+   *
+   * @param metrics {@link ColorPickerMetrics} or null for disabling.
+   */
+  public void setMetrics(@Nullable ColorPickerMetrics metrics) {
+    this.metrics = metrics;
+    if (alphaSlideBar != null) alphaSlideBar.setMetrics(metrics);
+    if (brightnessSlider != null) brightnessSlider.setMetrics(metrics);
+    if (hueSlider != null) hueSlider.setMetrics(metrics);
+    for (ChannelSlideBar channelSlider : channelSliders) channelSlider.setMetrics(metrics);
   }
 
   /**
@@ -630,7 +1293,8 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
   }
 
   /**
-   * gets a selector's selected coordinate.
+   * gets a selector's selected coordinate. the point is updated in place on the main thread, so
+   * the other threads should read it by the {@link #snapshot(ColorPickerSnapshot)}.
    *
    * @return a selected coordinate {@link Point}.
    */
@@ -645,12 +1309,13 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    * @param y coordinate y of the selector.
    */
   public void setSelectorPoint(int x, int y) {
-    Point mappedPoint = PointMapper.getColorPoint(this, new Point(x, y));
-    int color = getColorFromBitmap(mappedPoint.x, mappedPoint.y);
+    touchPoint.set(x, y);
+    PointMapper.clampToPalette(this, touchPoint);
+    setSelectedPoint((int) touchPoint.x, (int) touchPoint.y);
+    int color = getColorFromBitmap(selectedPoint.x, selectedPoint.y);
     selectedPureColor = color;
     selectedColor = color;
-    selectedPoint = new Point(mappedPoint.x, mappedPoint.y);
-    setCoordinate(mappedPoint.x, mappedPoint.y);
+    setCoordinate(selectedPoint.x, selectedPoint.y);
     fireColorListener(getColor(), false);
     notifyToFlagView(selectedPoint);
   }
@@ -664,12 +1329,21 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
   public void moveSelectorPoint(int x, int y, @ColorInt int color) {
     selectedPureColor = color;
     selectedColor = color;
-    selectedPoint = new Point(x, y);
+    setSelectedPoint(x, y);
     setCoordinate(x, y);
     fireColorListener(getColor(), false);
     notifyToFlagView(selectedPoint);
   }
 
+  /** updates the selected point in place. */
+  private void setSelectedPoint(int x, int y) {
+    if (selectedPoint == null) {
+      selectedPoint = new Point(x, y);
+    } else {
+      selectedPoint.set(x, y);
+    }
+  }
+
   /**
    * changes selector's selected point without notifies.
    *
@@ -679,32 +1353,31 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
   public void setCoordinate(int x, int y) {
     selector.setX(x - (selector.getMeasuredWidth() * 0.5f));
     selector.setY(y - (selector.getMeasuredHeight() * 0.5f));
+    if (isFlatRendering) invalidate();
   }
 
   /**
-   * select a point by a specific color. this method will not work if the default palette drawable
-   * is not {@link ColorHsvPalette}.
+   * select a point by a specific color. on the palettes other than {@link ColorHsvPalette}, the
+   * closest color on the palette will be selected.
    *
    * @param color a starting color.
    */
   public void setInitialColor(@ColorInt final int color) {
+    if (!isInflated) {
+      initialColor = color;
+      hasInitialColor = true;
+      return;
+    }
     if (getPreferenceName() == null
         || (getPreferenceName() != null
             && preferenceManager.getColor(getPreferenceName(), -1) == -1)) {
-      post(
-          () -> {
-            try {
-              selectByHsvColor(color);
-            } catch (IllegalAccessException e) {
-              e.printStackTrace();
-            }
-          });
+      post(() -> selectByColor(color));
     }
   }
 
   /**
-   * select a point by a specific color resource. this method will not work if the default palette
-   * drawable is not {@link ColorHsvPalette}.
+   * select a point by a specific color resource. on the palettes other than {@link
+   * ColorHsvPalette}, the closest color on the palette will be selected.
    *
    * @param colorRes a starting color resource.
    */
@@ -721,28 +1394,10 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    */
   public void selectByHsvColor(@ColorInt int color) throws IllegalAccessException {
     if (palette.getDrawable() instanceof ColorHsvPalette) {
-      float[] hsv = new float[3];
-      Color.colorToHSV(color, hsv);
-
-      float centerX = getWidth() * 0.5f;
-      float centerY = getHeight() * 0.5f;
-      float radius = hsv[1] * Math.min(centerX, centerY);
-      int pointX = (int) (radius * Math.cos(Math.toRadians(hsv[0])) + centerX);
-      int pointY = (int) (-radius * Math.sin(Math.toRadians(hsv[0])) + centerY);
-
-      Point mappedPoint = PointMapper.getColorPoint(this, new Point(pointX, pointY));
-      selectedPureColor = color;
-      selectedColor = color;
-      selectedPoint = new Point(mappedPoint.x, mappedPoint.y);
-      if (getAlphaSlideBar() != null) {
-        getAlphaSlideBar().setSelectorByHalfSelectorPosition(getAlpha());
-      }
-      if (getBrightnessSlider() != null) {
-        getBrightnessSlider().setSelectorByHalfSelectorPosition(hsv[2]);
-      }
-      setCoordinate(mappedPoint.x, mappedPoint.y);
-      fireColorListener(getColor(), false);
-      notifyToFlagView(selectedPoint);
+      ((ColorHsvPalette) palette.getDrawable()).pointOf(color, samplingPoint);
+      PointMapper.mapFromPalette(this, samplingPoint);
+      PointMapper.clampToPalette(this, samplingPoint);
+      selectPoint((int) samplingPoint.x, (int) samplingPoint.y, color, color);
     } else {
       throw new IllegalAccessException(
           "selectByHsvColor(@ColorInt int color) can be called only "
@@ -750,6 +1405,186 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
     }
   }
 
+  /**
+   * changes selector's selected point by a specific color on any palette drawable.
+   *
+   * <p>On the {@link ColorHsvPalette}, it works the same as {@link #selectByHsvColor(int)}. On the
+   * bitmap palettes, the closest pixel to the color is found from an index which is built in the
+   * background whenever the palette is changed. If the index is not built yet, the selection will
+   * be applied as soon as it is ready. On a {@link ZoomableColorPalette}, the zoom is reset if the
+   * closest color is out of the visible area.
+   *
+   * @param color color.
+   */
+  public void selectByColor(@ColorInt int color) {
+    if (palette.getDrawable() instanceof ColorHsvPalette) {
+      try {
+        selectByHsvColor(color);
+      } catch (IllegalAccessException e) {
+        e.printStackTrace();
+      }
+      return;
+    }
+
+    if (palette.getDrawable() instanceof ColorSvPalette) {
+      ColorSvPalette svPalette = (ColorSvPalette) palette.getDrawable();
+      Color.colorToHSV(color, scratchHsv);
+      if (scratchHsv[1] > 0f && scratchHsv[2] > 0f) {
+        svPalette.setHue(scratchHsv[0]);
+        if (isFlatRendering) invalidatePalette();
+        if (hueSlider != null) hueSlider.setHue(scratchHsv[0]);
+      }
+    }
+
+    if (colorPalette == null) return;
+    PointF point = samplingPoint;
+    boolean isFound = colorPalette.pointOf(color, point);
+    if (!isFound && !isColorIndexPending() && colorPalette instanceof ZoomableColorPalette) {
+      ((ZoomableColorPalette) colorPalette).resetZoom();
+      isFound = colorPalette.pointOf(color, point);
+    }
+    if (!isFound) {
+      if (isColorIndexPending()) {
+        pendingSelectColor = color;
+        isPendingSelectSilent = isListenerSuppressed;
+        hasPendingSelectColor = true;
+      }
+      return;
+    }
+    int pureColor = colorPalette.colorAt(point.x, point.y);
+    PointMapper.mapFromPalette(this, point);
+    selectPoint((int) point.x, (int) point.y, pureColor, color);
+  }
+
+  /**
+   * changes selector's selected point by a specific color resource on any palette drawable.
+   *
+   * @param resource a color resource.
+   */
+  public void selectByColorRes(@ColorRes int resource) {
+    selectByColor(ContextCompat.getColor(getContext(), resource));
+  }
+
+  /**
+   * moves the selector to the point and positions sliders by the requested color.
+   *
+   * @param x coordinate x of the selector.
+   * @param y coordinate y of the selector.
+   * @param pureColor the palette color on the point.
+   * @param color the requested color for positioning sliders.
+   */
+  private void selectPoint(int x, int y, @ColorInt int pureColor, @ColorInt int color) {
+    Color.colorToHSV(color, scratchHsv);
+    float value = scratchHsv[2];
+    selectedPureColor = pureColor;
+    selectedColor = color;
+    setSelectedPoint(x, y);
+    if (getAlphaSlideBar() != null) {
+      getAlphaSlideBar().setSelectorByHalfSelectorPosition(getAlpha());
+    }
+    if (getBrightnessSlider() != null) {
+      getBrightnessSlider().setSelectorByHalfSelectorPosition(value);
+    }
+    for (ChannelSlideBar channelSlider : channelSliders) {
+      channelSlider.setSelectorByHalfSelectorPosition(
+          channelSlider.getChannel().positionOf(color));
+    }
+    setCoordinate(x, y);
+    fireColorListener(getColor(), false);
+    notifyToFlagView(selectedPoint);
+  }
+
+  /**
+   * resolves the {@link ColorPalette} of the palette drawable. the bitmap palettes are wrapped by
+   * {@link BitmapColorPalette}, and its {@link PaletteColorIndex} is built in the background.
+   *
+   * @param drawable palette drawable.
+   */
+  private void updateColorPalette(@Nullable Drawable drawable) {
+    final int generation = ++paletteColorIndexGeneration;
+    isPaletteMatrixDirty = true;
+    clearPendingSelectColor();
+    isPaletteColorIndexBuilding = false;
+    if (colorPalette instanceof AsyncColorPalette) {
+      ((AsyncColorPalette) colorPalette).setPaletteCallback(null);
+    }
+    if (drawable instanceof ColorPalette) {
+      colorPalette = (ColorPalette) drawable;
+      if (colorPalette instanceof AsyncColorPalette) {
+        ((AsyncColorPalette) colorPalette).setPaletteCallback(paletteCallback);
+      }
+      return;
+    }
+    if (!(drawable instanceof BitmapDrawable) || ((BitmapDrawable) drawable).getBitmap() == null) {
+      colorPalette = null;
+      return;
+    }
+
+    final BitmapColorPalette bitmapPalette = new BitmapColorPalette((BitmapDrawable) drawable);
+    final Bitmap bitmap = bitmapPalette.getDrawable().getBitmap();
+    colorPalette = bitmapPalette;
+    isPaletteColorIndexBuilding = true;
+    BackgroundExecutor.get()
+        .execute(
+            () -> {
+              final PaletteColorIndex index = PaletteColorIndex.build(bitmap);
+              mainHandler.post(
+                  () -> {
+                    if (generation != paletteColorIndexGeneration) return;
+                    bitmapPalette.setColorIndex(index);
+                    isPaletteColorIndexBuilding = false;
+                    applyPendingSelectColor();
+                  });
+            });
+  }
+
+  /** gets whether the palette can't find points of colors until its color index is built. */
+  private boolean isColorIndexPending() {
+    return isPaletteColorIndexBuilding
+        || (colorPalette instanceof AsyncColorPalette
+            && !((AsyncColorPalette) colorPalette).isColorIndexReady());
+  }
+
+  /**
+   * selects the color which has been requested while the color index was being built. the color
+   * listener is not invoked if the request has been made silently, and the waiting startup is
+   * finished with the selected color.
+   */
+  private void applyPendingSelectColor() {
+    if (hasPendingSelectColor) {
+      hasPendingSelectColor = false;
+      if (isPendingSelectSilent) {
+        selectSilently(pendingSelectColor);
+      } else {
+        selectByColor(pendingSelectColor);
+      }
+    }
+    if (isStartupWaiting) completeStartup();
+  }
+
+  /** drops the selection waiting for the color index, and lets the waiting startup finish. */
+  private void clearPendingSelectColor() {
+    hasPendingSelectColor = false;
+    if (isStartupWaiting) post(this::completeStartup);
+  }
+
+  /**
+   * samples the selected color again after the {@link AsyncColorPalette} has replaced its
+   * approximate colors, and notifies the refined color.
+   */
+  private void refineSelectedColor() {
+    if (selectedPoint == null || isPaletteGesturing) return;
+    int pureColor = getColorFromBitmap(selectedPoint.x, selectedPoint.y);
+    if (pureColor == selectedPureColor) return;
+    if (selectedColor == selectedPureColor) selectedColor = pureColor;
+    selectedPureColor = pureColor;
+    if (model.hasStages()) {
+      assembleColorState();
+    }
+    publishSnapshot();
+    notifyColorChanged();
+  }
+
   /**
    * changes selector's selected point by a specific color resource.
    *
@@ -770,22 +1605,189 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
     setPaletteDrawable(createColorHsvPalette());
   }
 
+  /**
+   * changes the palette drawable as a {@link ColorSvPalette}, the saturation and value square of a
+   * hue. the hue is changed by an attached {@link HueSlideBar}.
+   */
+  public void setSvPaletteDrawable() {
+    setPaletteDrawable(new ColorSvPalette(hueSlider != null ? hueSlider.getHue() : 0f));
+  }
+
   private Drawable createColorHsvPalette() {
-    Bitmap bitmap = Bitmap.createBitmap(getWidth(), getHeight(), Bitmap.Config.ARGB_8888);
-    return new ColorHsvPalette(getResources(), bitmap, outerBorderWidth, outerBorderColor, innerBorderWidth, innerBorderColor);
+    return new ColorHsvPalette(getWidth(), getHeight(), outerBorderWidth, outerBorderColor, innerBorderWidth, innerBorderColor);
+  }
+
+  /**
+   * loads a palette image from a stream on the background thread. see {@link
+   * #setPaletteFromStream(InputStream, Executor)}.
+   *
+   * @param inputStream the stream of an image.
+   */
+  public void setPaletteFromStream(@NonNull InputStream inputStream) {
+    setPaletteFromStream(inputStream, BackgroundExecutor.get());
+  }
+
+  /**
+   * loads a palette image from a stream on the executor and sets it as the palette.
+   *
+   * <p>The image is subsampled by the size of the {@link ColorPickerView}, so the full resolution
+   * image is never decoded. The stream is closed after decoding or canceling. The loading is
+   * canceled if another palette is set before it is completed.
+   *
+   * <p>The stream is read once, so the image header for reading the size must fit in the first
+   * megabyte of the stream. Use {@link #setPaletteFromUri(Uri, Executor)} for images which can be
+   * opened again.
+   *
+   * @param inputStream the stream of an image.
+   * @param executor the executor for decoding the image.
+   */
+  public void setPaletteFromStream(
+      @NonNull final InputStream inputStream, @NonNull Executor executor) {
+    loadPalette(
+        executor,
+        (width, height) -> PaletteLoader.decodeStream(inputStream, width, height),
+        inputStream);
+  }
+
+  /**
+   * loads a palette image from a uri on the background thread. see {@link
+   * #setPaletteFromUri(Uri, Executor)}.
+   *
+   * @param uri the uri of an image.
+   */
+  public void setPaletteFromUri(@NonNull Uri uri) {
+    setPaletteFromUri(uri, BackgroundExecutor.get());
+  }
+
+  /**
+   * loads a palette image from a uri on the executor and sets it as the palette.
+   *
+   * <p>The image is subsampled by the size of the {@link ColorPickerView}, so the full resolution
+   * image is never decoded. The loading is canceled if another palette is set before it is
+   * completed.
+   *
+   * @param uri the uri of an image.
+   * @param executor the executor for decoding the image.
+   */
+  public void setPaletteFromUri(@NonNull final Uri uri, @NonNull Executor executor) {
+    final ContentResolver resolver = getContext().getContentResolver();
+    loadPalette(
+        executor, (width, height) -> PaletteLoader.decodeUri(resolver, uri, width, height), null);
+  }
+
+  /**
+   * decodes a palette image on the executor and sets it on the main thread.
+   *
+   * @param executor the executor for decoding the image.
+   * @param decoder {@link PaletteLoader.Decoder}.
+   * @param source the source which is closed if the loading is canceled before decoding.
+   */
+  private void loadPalette(
+      @NonNull Executor executor,
+      @NonNull PaletteLoader.Decoder decoder,
+      @Nullable Closeable source) {
+    if (palettePlaceholder != null) {
+      setPaletteDrawable(palettePlaceholder);
+    }
+    final int generation = ++paletteLoadGeneration;
+    isPaletteLoading = true;
+    final int width = getWidth() > 0 ? getWidth() : getResources().getDisplayMetrics().widthPixels;
+    final int height =
+        getHeight() > 0 ? getHeight() : getResources().getDisplayMetrics().heightPixels;
+    executor.execute(
+        () -> {
+          if (generation != paletteLoadGeneration) {
+            PaletteLoader.closeQuietly(source);
+            return;
+          }
+          Bitmap bitmap = null;
+          Exception exception = null;
+          try {
+            bitmap = decoder.decode(width, height);
+            if (bitmap == null) exception = new IOException("The image can't be decoded.");
+          } catch (IOException | RuntimeException e) {
+            exception = e;
+          }
+          final Bitmap loadedBitmap = bitmap;
+          final Exception loadException = exception;
+          mainHandler.post(
+              () -> {
+                if (generation != paletteLoadGeneration) return;
+                isPaletteLoading = false;
+                if (loadException != null) {
+                  if (paletteLoadListener != null) {
+                    paletteLoadListener.onPaletteLoadFailed(loadException);
+                  }
+                  return;
+                }
+                Drawable drawable = new BitmapDrawable(getResources(), loadedBitmap);
+                setPaletteDrawable(drawable);
+                if (paletteLoadListener != null) paletteLoadListener.onPaletteLoaded(drawable);
+              });
+        });
+  }
+
+  /**
+   * gets whether a palette image is being loaded.
+   *
+   * @return true while loading a palette image.
+   */
+  public boolean isPaletteLoading() {
+    return isPaletteLoading;
+  }
+
+  /**
+   * sets a placeholder drawable which is set as the palette while loading a palette image.
+   *
+   * @param placeholder placeholder drawable or null for keeping the current palette.
+   */
+  public void setPalettePlaceholder(@Nullable Drawable placeholder) {
+    this.palettePlaceholder = placeholder;
   }
 
   /**
-   * changes palette drawable manually.
+   * sets a {@link PaletteLoadListener}.
+   *
+   * @param paletteLoadListener {@link PaletteLoadListener}.
+   */
+  public void setPaletteLoadListener(@Nullable PaletteLoadListener paletteLoadListener) {
+    this.paletteLoadListener = paletteLoadListener;
+  }
+
+  /**
+   * changes palette drawable manually. it cancels the loading palette image.
    *
    * @param drawable palette drawable.
    */
   public void setPaletteDrawable(Drawable drawable) {
+    paletteLoadGeneration++;
+    isPaletteLoading = false;
+    if (isFlatRendering) {
+      paletteDrawable = drawable;
+      palette.setImageDrawable(paletteDrawable);
+      updateColorPalette(paletteDrawable);
+      selectedPureColor = Color.WHITE;
+      notifyToSlideBars();
+      if (!VISIBLE_FLAG) {
+        VISIBLE_FLAG = true;
+        selector_alpha = selector.getAlpha();
+        selector.setAlpha(0.0f);
+        if (flagView != null) {
+          flag_alpha = flagView.getAlpha();
+          flagView.setAlpha(0.0f);
+        }
+      }
+      invalidatePalette();
+      return;
+    }
+
     removeView(palette);
-    palette = new ImageView(getContext());
+    palette = createPaletteView();
     paletteDrawable = drawable;
     palette.setImageDrawable(paletteDrawable);
     addView(palette);
+    updatePaletteLayer(false);
+    updateColorPalette(paletteDrawable);
 
     removeView(selector);
     addView(selector);
@@ -818,6 +1820,10 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    */
   public void setSelectorDrawable(Drawable drawable) {
     selector.setImageDrawable(drawable);
+    if (isFlatRendering) {
+      requestLayout();
+      invalidate();
+    }
   }
 
   /** selects the center of the palette manually. */
@@ -844,12 +1850,92 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
       getBrightnessSlider().setEnabled(enabled);
     }
 
+    for (ChannelSlideBar channelSlider : channelSliders) {
+      channelSlider.setEnabled(enabled);
+    }
+
     if (enabled) {
       palette.clearColorFilter();
     } else {
       int color = Color.argb(70, 255, 255, 255);
       palette.setColorFilter(color);
     }
+    if (isFlatRendering) invalidatePalette();
+  }
+
+  /**
+   * gets whether the palette and the selector are drawn directly by the {@link ColorPickerView}.
+   *
+   * @return true if the flat rendering mode is enabled.
+   */
+  public boolean isFlatRendering() {
+    return isFlatRendering;
+  }
+
+  /**
+   * sets the flat rendering mode.
+   *
+   * <p>On flat mode, the palette and the selector are not added as child views but drawn in the
+   * {@link ColorPickerView}'s own draw pass. On API 29 and above the palette is recorded once into
+   * a {@link RenderNode} and redrawn from it, so a selector move only records the selector again.
+   * The {@link FlagView} is still added as a child view.
+   *
+   * @param flatRendering true for enabling the flat rendering mode.
+   */
+  public void setFlatRendering(boolean flatRendering) {
+    if (this.isFlatRendering == flatRendering) return;
+    this.isFlatRendering = flatRendering;
+    paletteRenderNode = null;
+    if (palette == null) return;
+    updatePaletteLayer(false);
+
+    relocatingSelectorX = selector.getX() + selector.getMeasuredWidth() * 0.5f;
+    relocatingSelectorY = selector.getY() + selector.getMeasuredHeight() * 0.5f;
+    isSelectorRelocationPending = true;
+    if (flatRendering) {
+      removeView(palette);
+      removeView(selector);
+      willNotDrawOnLayered = willNotDraw();
+      setWillNotDraw(false);
+    } else {
+      setWillNotDraw(willNotDrawOnLayered);
+      addView(palette, 0);
+      addView(selector, 1);
+    }
+    requestLayout();
+    invalidate();
+  }
+
+  /**
+   * gets a {@link PaletteLayerPolicy}.
+   *
+   * @return {@link PaletteLayerPolicy}.
+   */
+  public PaletteLayerPolicy getPaletteLayerPolicy() {
+    return paletteLayerPolicy;
+  }
+
+  /**
+   * sets a {@link PaletteLayerPolicy}. the default policy is {@link PaletteLayerPolicy#NONE}.
+   *
+   * @param paletteLayerPolicy {@link PaletteLayerPolicy}.
+   */
+  public void setPaletteLayerPolicy(@NonNull PaletteLayerPolicy paletteLayerPolicy) {
+    this.paletteLayerPolicy = paletteLayerPolicy;
+    updatePaletteLayer(false);
+  }
+
+  /** sets the layer type of the palette by the {@link PaletteLayerPolicy}. */
+  private void updatePaletteLayer(boolean isDragging) {
+    if (palette == null) return;
+    boolean isLayered =
+        !isFlatRendering
+            && (paletteLayerPolicy == PaletteLayerPolicy.ALWAYS
+                || (paletteLayerPolicy == PaletteLayerPolicy.WHILE_DRAGGING && isDragging));
+    int layerType = isLayered ? View.LAYER_TYPE_HARDWARE : View.LAYER_TYPE_NONE;
+    if (palette.getLayerType() != layerType) {
+      palette.setLayerType(layerType, null);
+    }
   }
 
   /**
@@ -887,7 +1973,9 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
   public void attachAlphaSlider(@NonNull AlphaSlideBar alphaSlideBar) {
     this.alphaSlideBar = alphaSlideBar;
     alphaSlideBar.attachColorPickerView(this);
-    alphaSlideBar.notifyColor();
+    updateColorStages();
+    notifyToSlideBars();
+    if (metrics != null) alphaSlideBar.setMetrics(metrics);
 
     if (getPreferenceName() != null) {
       alphaSlideBar.setPreferenceName(getPreferenceName());
@@ -911,13 +1999,79 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
   public void attachBrightnessSlider(@NonNull BrightnessSlideBar brightnessSlider) {
     this.brightnessSlider = brightnessSlider;
     brightnessSlider.attachColorPickerView(this);
-    brightnessSlider.notifyColor();
+    updateColorStages();
+    notifyToSlideBars();
+    if (metrics != null) brightnessSlider.setMetrics(metrics);
 
     if (getPreferenceName() != null) {
       brightnessSlider.setPreferenceName(getPreferenceName());
     }
   }
 
+  /**
+   * gets an {@link HueSlideBar}.
+   *
+   * @return {@link HueSlideBar}.
+   */
+  public @Nullable HueSlideBar getHueSlider() {
+    return hueSlider;
+  }
+
+  /**
+   * linking an {@link HueSlideBar} on the {@link ColorPickerView}. it changes the hue of the
+   * {@link ColorSvPalette} or moves the selector along the hue of the {@link ColorHsvPalette}, and
+   * it has no effect on the other palettes.
+   *
+   * @param hueSlider {@link HueSlideBar}.
+   */
+  public void attachHueSlider(@NonNull HueSlideBar hueSlider) {
+    this.hueSlider = hueSlider;
+    hueSlider.attachColorPickerView(this);
+    notifyToSlideBars();
+    if (metrics != null) hueSlider.setMetrics(metrics);
+
+    if (getPreferenceName() != null) {
+      hueSlider.setPreferenceName(getPreferenceName());
+    }
+  }
+
+  /**
+   * gets the attached {@link ChannelSlideBar}s in the attached order.
+   *
+   * @return the unmodifiable list of {@link ChannelSlideBar}.
+   */
+  public @NonNull List<ChannelSlideBar> getChannelSliders() {
+    return Collections.unmodifiableList(channelSliders);
+  }
+
+  /**
+   * linking a {@link ChannelSlideBar} on the {@link ColorPickerView}. any number of channel
+   * sliders can be attached, and they are applied to the selected color in the attached order.
+   *
+   * @param channelSlider {@link ChannelSlideBar}.
+   */
+  public void attachChannelSlider(@NonNull ChannelSlideBar channelSlider) {
+    if (channelSliders.contains(channelSlider)) return;
+    channelSliders.add(channelSlider);
+    channelSlider.attachColorPickerView(this);
+    if (metrics != null) channelSlider.setMetrics(metrics);
+    updateColorStages();
+    notifyToSlideBars();
+  }
+
+  /**
+   * unlinks a {@link ChannelSlideBar} from the {@link ColorPickerView}.
+   *
+   * @param channelSlider {@link ChannelSlideBar}.
+   */
+  public void detachChannelSlider(@NonNull ChannelSlideBar channelSlider) {
+    if (!channelSliders.remove(channelSlider)) return;
+    channelSlider.attachColorPickerView(null);
+    channelSlider.setMetrics(null);
+    updateColorStages();
+    notifyToSlideBars();
+  }
+
   /**
    * gets the preference name.
    *
@@ -940,6 +2094,85 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
     if (this.brightnessSlider != null) {
       this.brightnessSlider.setPreferenceName(preferenceName);
     }
+    if (this.hueSlider != null) {
+      this.hueSlider.setPreferenceName(preferenceName);
+    }
+  }
+
+  /**
+   * binds a recycled {@link ColorPickerView} to another preference name and color, such as on
+   * binding a list item. the palette, the selector and the sliders are reused, and the color
+   * listener is not invoked while restoring.
+   *
+   * <p>The color saved on the preference is restored if exists, otherwise the color is selected.
+   * If the {@link ColorPickerView} is not laid out yet, the color is selected once after the
+   * layout instead of restoring the preference.
+   *
+   * @param preferenceName preference name or null.
+   * @param color the color to be selected if nothing has been saved on the preference.
+   */
+  @MainThread
+  public void rebind(@Nullable String preferenceName, @ColorInt int color) {
+    cancelPendingDispatch();
+    setPreferenceName(preferenceName);
+    if (preferenceName != null) {
+      int persisted = preferenceManager.getColor(preferenceName, -1);
+      if (persisted != -1) color = persisted;
+    }
+    if (isInflated) {
+      hasPendingRebind = false;
+      selectSilently(color);
+    } else {
+      hasPendingRebind = true;
+      pendingRebindColor = color;
+    }
+  }
+
+  /**
+   * resets a recycled {@link ColorPickerView} to the unbound state without invoking the color
+   * listener. the preference name is cleared, the pending notifications are cancelled, the
+   * {@link FlagView} is removed, the sliders are moved to the ends and the center of the palette
+   * is selected.
+   */
+  @MainThread
+  public void reset() {
+    cancelPendingDispatch();
+    hasPendingRebind = false;
+    setPreferenceName(null);
+    if (flagView != null) {
+      removeView(flagView);
+      flagView = null;
+    }
+    if (alphaSlideBar != null) alphaSlideBar.setSelectorByHalfSelectorPosition(1.0f);
+    if (brightnessSlider != null) brightnessSlider.setSelectorByHalfSelectorPosition(1.0f);
+    for (ChannelSlideBar channelSlider : channelSliders) {
+      channelSlider.setSelectorByHalfSelectorPosition(1.0f);
+    }
+    if (isInflated) {
+      isListenerSuppressed = true;
+      try {
+        selectCenter();
+      } finally {
+        isListenerSuppressed = false;
+      }
+    }
+  }
+
+  /** selects the color without invoking the color listener. */
+  private void selectSilently(@ColorInt int color) {
+    isListenerSuppressed = true;
+    try {
+      selectByColor(color);
+    } finally {
+      isListenerSuppressed = false;
+    }
+  }
+
+  /** cancels the color changes waiting for the debounce or the throttle. */
+  private void cancelPendingDispatch() {
+    debounceHandler.removeCallbacks(dispatchRunnable);
+    model.getDispatchPolicy().cancel();
+    clearPendingSelectColor();
   }
 
   /**
@@ -964,11 +2197,185 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
    * This method invoked by the {@link LifecycleOwner}'s life cycle.
    *
    * <p>OnDestroy would be called on the {@link LifecycleOwner}, all of the color picker data will
-   * be saved automatically.
+   * be saved automatically. the data is not written while the activity is recreated by a
+   * configuration change if the view has an id and saves its state, because the saved instance
+   * state restores it.
    */
   @OnLifecycleEvent(Lifecycle.Event.ON_DESTROY)
   public void onDestroy() {
-    preferenceManager.saveColorPickerData(this);
+    if (!isRestoredFromInstanceState()) {
+      preferenceManager.saveColorPickerData(this);
+    }
+    cancelColorStreams();
+  }
+
+  /** gets whether the state will be restored from the saved instance state after recreation. */
+  private boolean isRestoredFromInstanceState() {
+    Activity activity = findActivity();
+    return activity != null
+        && activity.isChangingConfigurations()
+        && getId() != NO_ID
+        && isSaveEnabled();
+  }
+
+  private @Nullable Activity findActivity() {
+    Context context = getContext();
+    while (context instanceof ContextWrapper) {
+      if (context instanceof Activity) return (Activity) context;
+      context = ((ContextWrapper) context).getBaseContext();
+    }
+    return null;
+  }
+
+  @Override
+  protected Parcelable onSaveInstanceState() {
+    SavedState state = new SavedState(super.onSaveInstanceState());
+    state.color = selectedColor;
+    state.pureColor = selectedPureColor;
+    if (selectedPoint != null && getWidth() > 0 && getHeight() > 0) {
+      state.selectedX = (float) selectedPoint.x / getWidth();
+      state.selectedY = (float) selectedPoint.y / getHeight();
+    }
+    if (alphaSlideBar != null) state.alphaPosition = alphaSlideBar.getSelectorPosition();
+    if (brightnessSlider != null) {
+      state.brightnessPosition = brightnessSlider.getSelectorPosition();
+    }
+    if (hueSlider != null) state.huePosition = hueSlider.getSelectorPosition();
+    state.channelPositions = new float[channelSliders.size()];
+    for (int i = 0; i < channelSliders.size(); i++) {
+      state.channelPositions[i] = channelSliders.get(i).getSelectorPosition();
+    }
+    return state;
+  }
+
+  @Override
+  protected void onRestoreInstanceState(Parcelable state) {
+    if (!(state instanceof SavedState)) {
+      super.onRestoreInstanceState(state);
+      return;
+    }
+    SavedState savedState = (SavedState) state;
+    super.onRestoreInstanceState(savedState.getSuperState());
+    if (isStartingUp) {
+      this.savedState = savedState;
+    } else {
+      restoreSavedState(savedState);
+      fireColorListener(getColor(), false);
+    }
+  }
+
+  /**
+   * restores the saved instance state. the selected point is restored by the normalized
+   * coordinate, so it is kept on the same relative position when the size is changed.
+   *
+   * @param state {@link SavedState}.
+   */
+  private void restoreSavedState(@NonNull SavedState state) {
+    selectedPureColor = state.pureColor;
+    selectedColor = state.color;
+    if (!Float.isNaN(state.selectedX) && !Float.isNaN(state.selectedY)) {
+      touchPoint.set(state.selectedX * getWidth(), state.selectedY * getHeight());
+      PointMapper.clampToPalette(this, touchPoint);
+      setSelectedPoint((int) touchPoint.x, (int) touchPoint.y);
+      setCoordinate(selectedPoint.x, selectedPoint.y);
+    }
+    if (alphaSlideBar != null && state.alphaPosition >= 0f) {
+      alphaSlideBar.setSelectorByHalfSelectorPosition(state.alphaPosition);
+    }
+    if (brightnessSlider != null && state.brightnessPosition >= 0f) {
+      brightnessSlider.setSelectorByHalfSelectorPosition(state.brightnessPosition);
+    }
+    if (hueSlider != null && state.huePosition >= 0f) {
+      hueSlider.setSelectorByHalfSelectorPosition(state.huePosition);
+      notifyHueChanged(hueSlider.getHue());
+      selectedPureColor = state.pureColor;
+    }
+    int channelCount = Math.min(channelSliders.size(), state.channelPositions.length);
+    for (int i = 0; i < channelCount; i++) {
+      channelSliders.get(i).setSelectorByHalfSelectorPosition(state.channelPositions[i]);
+    }
+    notifyToSlideBars();
+  }
+
+  /**
+   * SavedState is the instance state of the {@link ColorPickerView}, which keeps the selected
+   * color, the normalized selected point and the slider positions in memory on the configuration
+   * changes.
+   */
+  /** PaletteRenderNode caches the palette drawing on flat mode, recorded again only on changes. */
+  @TargetApi(Build.VERSION_CODES.Q)
+  private static final class PaletteRenderNode {
+
+    private final RenderNode renderNode = new RenderNode("ColorPickerViewPalette");
+    private boolean isDirty = true;
+
+    private void draw(Canvas canvas, View palette) {
+      if (isDirty || !renderNode.hasDisplayList()) {
+        renderNode.setPosition(0, 0, palette.getWidth(), palette.getHeight());
+        Canvas recordingCanvas = renderNode.beginRecording();
+        try {
+          palette.draw(recordingCanvas);
+        } finally {
+          renderNode.endRecording();
+        }
+        isDirty = false;
+      }
+      canvas.drawRenderNode(renderNode);
+    }
+  }
+
+  static class SavedState extends BaseSavedState {
+
+    @ColorInt int color;
+    @ColorInt int pureColor;
+    float selectedX = Float.NaN;
+    float selectedY = Float.NaN;
+    float alphaPosition = ColorPickerSnapshot.NO_POSITION;
+    float brightnessPosition = ColorPickerSnapshot.NO_POSITION;
+    float huePosition = ColorPickerSnapshot.NO_POSITION;
+    float[] channelPositions = new float[0];
+
+    SavedState(Parcelable superState) {
+      super(superState);
+    }
+
+    private SavedState(Parcel in) {
+      super(in);
+      color = in.readInt();
+      pureColor = in.readInt();
+      selectedX = in.readFloat();
+      selectedY = in.readFloat();
+      alphaPosition = in.readFloat();
+      brightnessPosition = in.readFloat();
+      huePosition = in.readFloat();
+      channelPositions = in.createFloatArray();
+    }
+
+    @Override
+    public void writeToParcel(Parcel out, int flags) {
+      super.writeToParcel(out, flags);
+      out.writeInt(color);
+      out.writeInt(pureColor);
+      out.writeFloat(selectedX);
+      out.writeFloat(selectedY);
+      out.writeFloat(alphaPosition);
+      out.writeFloat(brightnessPosition);
+      out.writeFloat(huePosition);
+      out.writeFloatArray(channelPositions);
+    }
+
+    public static final Parcelable.Creator<SavedState> CREATOR =
+        new Parcelable.Creator<SavedState>() {
+          @Override
+          public SavedState createFromParcel(Parcel in) {
+            return new SavedState(in);
+          }
+
+          @Override
+          public SavedState[] newArray(int size) {
+            return new SavedState[size];
+          }
+        };
   }
 
   /** Builder class for create {@link ColorPickerView}. */
@@ -976,12 +2383,15 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
     private final Context context;
     private ColorPickerViewListener colorPickerViewListener;
     private int debounceDuration = 0;
+    private int maxWaitDuration = 0;
+    private boolean isFlatRendering = false;
     private FlagView flagView;
     private Drawable paletteDrawable;
     private Drawable selectorDrawable;
     private AlphaSlideBar alphaSlideBar;
     private BrightnessSlideBar brightnessSlider;
     private ActionMode actionMode = ActionMode.ALWAYS;
+    private PaletteLayerPolicy paletteLayerPolicy = PaletteLayerPolicy.NONE;
     @ColorInt private int initialColor = 0;
 
     @FloatRange(from = 0.0, to = 1.0)
@@ -1012,6 +2422,16 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
       return this;
     }
 
+    public Builder setMaxWaitDuration(int maxWaitDuration) {
+      this.maxWaitDuration = maxWaitDuration;
+      return this;
+    }
+
+    public Builder setFlatRendering(boolean flatRendering) {
+      this.isFlatRendering = flatRendering;
+      return this;
+    }
+
     public Builder setPaletteDrawable(@NonNull Drawable palette) {
       this.paletteDrawable = palette;
       return this;
@@ -1042,6 +2462,11 @@ public class ColorPickerView extends FrameLayout implements LifecycleObserver {
       return this;
     }
 
+    public Builder setPaletteLayerPolicy(@NonNull PaletteLayerPolicy paletteLayerPolicy) {
+      this.paletteLayerPolicy = paletteLayerPolicy;
+      return this;
+    }
+
     public Builder setSelectorAlpha(@FloatRange(from = 0.0, to = 1.0) float alpha) {
       this.selector_alpha = alpha;
       return this;
@@ -0,0 +1,123 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ColorStream is a conflated subscription to the state of a {@link ColorPickerView}, created by
+ * the {@link ColorPickerView#colorStream(Executor, Consumer)}.
+ *
+ * <p>The changes are never queued. At most one delivery is scheduled on the executor at a time,
+ * and it delivers the latest state when it runs, so a slow consumer just skips the intermediate
+ * states without blocking the main thread. The latest state can also be pulled by the {@link
+ * #poll(ColorPickerSnapshot)}. The stream is cancelled when the {@link ColorPickerView} is
+ * detached from the window or its lifecycle owner is destroyed, and it can be cancelled earlier by
+ * the {@link #cancel()}. A stream should be created again after the view is attached again.
+ */
+public final class ColorStream {
+
+  /** Consumer receives the latest state of the {@link ColorPickerView} on the executor. */
+  public interface Consumer {
+    /**
+     * invoked with the latest state. the snapshot is reused by the stream, so it should not be
+     * kept after returning.
+     *
+     * @param snapshot {@link ColorPickerSnapshot}.
+     */
+    void onColorState(@NonNull ColorPickerSnapshot snapshot);
+  }
+
+  private final ColorPickerView colorPickerView;
+  private final Executor executor;
+  private final Consumer consumer;
+  private final ColorPickerSnapshot snapshot = new ColorPickerSnapshot();
+  private final AtomicBoolean isScheduled = new AtomicBoolean();
+  private final Runnable deliverRunnable = this::deliver;
+  private volatile boolean isCancelled = false;
+  private volatile long deliveredVersion = -1;
+  private volatile long polledVersion = -1;
+
+  ColorStream(
+      @NonNull ColorPickerView colorPickerView,
+      @Nullable Executor executor,
+      @Nullable Consumer consumer) {
+    this.colorPickerView = colorPickerView;
+    this.executor = executor;
+    this.consumer = consumer;
+  }
+
+  /**
+   * copies the latest state into the snapshot if it has been changed since the last poll. it can
+   * be called from any thread.
+   *
+   * @param out the snapshot to be reused.
+   * @return true if the state has been changed and copied.
+   */
+  public boolean poll(@NonNull ColorPickerSnapshot out) {
+    if (isCancelled || colorPickerView.getSnapshotVersion() == polledVersion) return false;
+    colorPickerView.snapshot(out);
+    polledVersion = out.getVersion();
+    return true;
+  }
+
+  /** cancels the stream. the consumer is not invoked after the running delivery. */
+  public void cancel() {
+    if (isCancelled) return;
+    isCancelled = true;
+    colorPickerView.removeColorStream(this);
+  }
+
+  /**
+   * gets whether the stream has been cancelled.
+   *
+   * @return true if cancelled.
+   */
+  public boolean isCancelled() {
+    return isCancelled;
+  }
+
+  /** called on the main thread whenever the state of the {@link ColorPickerView} is published. */
+  @MainThread
+  void onPublished() {
+    if (consumer == null || isCancelled) return;
+    if (isScheduled.compareAndSet(false, true)) {
+      executor.execute(deliverRunnable);
+    }
+  }
+
+  private void deliver() {
+    do {
+      if (isCancelled) {
+        isScheduled.set(false);
+        return;
+      }
+      colorPickerView.snapshot(snapshot);
+      if (snapshot.getVersion() != deliveredVersion) {
+        deliveredVersion = snapshot.getVersion();
+        consumer.onColorState(snapshot);
+      }
+      isScheduled.set(false);
+    } while (colorPickerView.getSnapshotVersion() != deliveredVersion
+        && !isCancelled
+        && isScheduled.compareAndSet(false, true));
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+import androidx.annotation.ColorInt;
+import androidx.annotation.FloatRange;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * ColorSvPalette is a drawable palette of the saturation and the value of a hue. The saturation
+ * increases from left to right, and the value decreases from top to bottom.
+ *
+ * <p>Colors are looked up analytically from the coordinates, and the square is drawn by filling
+ * the hue color and compositing a cached grayscale overlay on it, so changing the hue doesn't
+ * rasterize the palette again.
+ */
+public class ColorSvPalette extends Drawable implements ColorPalette {
+
+  private static final int OVERLAY_SIZE = 256;
+  private static Bitmap overlay;
+
+  private final Paint huePaint = new Paint();
+  private final Paint overlayPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+  private final Rect overlayRect = new Rect(0, 0, OVERLAY_SIZE, OVERLAY_SIZE);
+  private final float[] hsv = new float[3];
+  private float hue;
+
+  public ColorSvPalette() {
+    this(0f);
+  }
+
+  public ColorSvPalette(@FloatRange(from = 0.0, to = 360.0) float hue) {
+    setHue(hue);
+  }
+
+  /**
+   * gets the hue of the palette.
+   *
+   * @return hue.
+   */
+  public float getHue() {
+    return hue;
+  }
+
+  /**
+   * sets the hue of the palette.
+   *
+   * @param hue hue between 0 and 360.
+   */
+  public void setHue(@FloatRange(from = 0.0, to = 360.0) float hue) {
+    this.hue = hue;
+    hsv[0] = hue;
+    hsv[1] = 1f;
+    hsv[2] = 1f;
+    huePaint.setColor(Color.HSVToColor(hsv));
+    invalidateSelf();
+  }
+
+  /**
+   * gets the color on the coordinate of the drawable. the coordinate is clamped into the bounds.
+   */
+  @Override
+  public @ColorInt int colorAt(float x, float y) {
+    Rect bounds = getBounds();
+    hsv[0] = hue;
+    hsv[1] = clampUnit((x - bounds.left) / Math.max(1, bounds.width()));
+    hsv[2] = 1f - clampUnit((y - bounds.top) / Math.max(1, bounds.height()));
+    return Color.HSVToColor(hsv);
+  }
+
+  /** gets the coordinate of the color's saturation and value. the hue of the color is ignored. */
+  @Override
+  public boolean pointOf(@ColorInt int color, @NonNull PointF out) {
+    Rect bounds = getBounds();
+    Color.colorToHSV(color, hsv);
+    out.set(bounds.left + hsv[1] * bounds.width(), bounds.top + (1f - hsv[2]) * bounds.height());
+    return true;
+  }
+
+  @Override
+  public boolean isSelectable(float x, float y) {
+    Rect bounds = getBounds();
+    return x >= bounds.left && y >= bounds.top && x <= bounds.right && y <= bounds.bottom;
+  }
+
+  @Override
+  public void clamp(@NonNull PointF point) {
+    Rect bounds = getBounds();
+    point.set(
+        Math.max(bounds.left, Math.min(bounds.right, point.x)),
+        Math.max(bounds.top, Math.min(bounds.bottom, point.y)));
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    Rect bounds = getBounds();
+    canvas.drawRect(bounds, huePaint);
+    canvas.drawBitmap(getOverlay(), overlayRect, bounds, overlayPaint);
+  }
+
+  @Override
+  public void setAlpha(int alpha) {
+    huePaint.setAlpha(alpha);
+    overlayPaint.setAlpha(alpha);
+  }
+
+  @Override
+  public void setColorFilter(@Nullable ColorFilter colorFilter) {
+    huePaint.setColorFilter(colorFilter);
+    overlayPaint.setColorFilter(colorFilter);
+  }
+
+  @Override
+  public int getOpacity() {
+    return PixelFormat.OPAQUE;
+  }
+
+  /**
+   * gets the overlay which turns the hue color into the saturation and the value when it is drawn
+   * over the hue. for the saturation s and the value v, the overlay has the alpha of 1 - vs and
+   * the gray of v(1 - s) / (1 - vs).
+   */
+  private static synchronized Bitmap getOverlay() {
+    if (overlay == null) {
+      int[] colors = new int[OVERLAY_SIZE * OVERLAY_SIZE];
+      float max = OVERLAY_SIZE - 1;
+      for (int y = 0; y < OVERLAY_SIZE; y++) {
+        float value = 1f - y / max;
+        for (int x = 0; x < OVERLAY_SIZE; x++) {
+          float saturation = x / max;
+          float alpha = 1f - value * saturation;
+          float gray = alpha > 0f ? value * (1f - saturation) / alpha : 0f;
+          int g = Math.round(gray * 255);
+          colors[y * OVERLAY_SIZE + x] = Color.argb(Math.round(alpha * 255), g, g, g);
+        }
+      }
+      overlay =
+          Bitmap.createBitmap(colors, OVERLAY_SIZE, OVERLAY_SIZE, Bitmap.Config.ARGB_8888);
+    }
+    return overlay;
+  }
+
+  private static float clampUnit(float value) {
+    return Math.max(0f, Math.min(1f, value));
+  }
+}
@@ -18,17 +18,34 @@ package com.skydoves.colorpickerview;
 
 import android.graphics.Color;
 import androidx.annotation.ColorInt;
-import java.util.Locale;
 
 /** ColorUtils a util class for changing the form of colors. */
 class ColorUtils {
-  /** changes color to string hex code. */
-  public static String getHexCode(@ColorInt int color) {
-    int a = Color.alpha(color);
-    int r = Color.red(color);
-    int g = Color.green(color);
-    int b = Color.blue(color);
-    return String.format(Locale.getDefault(), "%02X%02X%02X%02X", a, r, g, b);
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+  private static final int HEX_CACHE_SIZE = 64;
+  private static final int[] hexCacheColors = new int[HEX_CACHE_SIZE];
+  private static final String[] hexCacheCodes = new String[HEX_CACHE_SIZE];
+  private static final char[] hexBuffer = new char[8];
+
+  /**
+   * changes color to string hex code. the recent hex codes are cached, so a color which is
+   * selected again doesn't allocate a new string.
+   */
+  public static synchronized String getHexCode(@ColorInt int color) {
+    int slot = (color * 0x9E3779B9) >>> 26;
+    String hexCode = hexCacheCodes[slot];
+    if (hexCode != null && hexCacheColors[slot] == color) {
+      return hexCode;
+    }
+    int value = color;
+    for (int i = 7; i >= 0; i--) {
+      hexBuffer[i] = HEX_DIGITS[value & 0xF];
+      value >>>= 4;
+    }
+    hexCode = new String(hexBuffer);
+    hexCacheColors[slot] = color;
+    hexCacheCodes[slot] = hexCode;
+    return hexCode;
   }
 
   /** changes color to argb integer array. */
@@ -18,25 +18,94 @@ package com.skydoves.colorpickerview;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
 import android.view.View;
-import android.view.animation.Animation;
-import android.view.animation.AnimationUtils;
+import android.view.ViewPropertyAnimator;
+import android.view.animation.LinearInterpolator;
 import androidx.annotation.RestrictTo;
 
+/**
+ * FadeUtils fades views in and out using the {@link ViewPropertyAnimator} on a hardware layer.
+ *
+ * <p>A fader is cached on each view, so repeated fades reuse the same listener and cancel the
+ * in-flight fade instead of stacking animations. The listener is removed from the view's shared
+ * animator when a fade ends, so it never runs for the other animations of the view.
+ */
 @RestrictTo(LIBRARY_GROUP)
 public class FadeUtils {
 
+  private static final long FADE_DURATION = 500;
+  private static final LinearInterpolator INTERPOLATOR = new LinearInterpolator();
+
   public static void fadeIn(View view) {
-    Animation fadeIn =
-        AnimationUtils.loadAnimation(view.getContext(), R.anim.fade_in_colorpickerview_skydoves);
-    fadeIn.setFillAfter(true);
-    view.startAnimation(fadeIn);
+    getFader(view).fade(true);
   }
 
   public static void fadeOut(View view) {
-    Animation fadeOut =
-        AnimationUtils.loadAnimation(view.getContext(), R.anim.fade_out_colorpickerview_skydoves);
-    fadeOut.setFillAfter(true);
-    view.startAnimation(fadeOut);
+    getFader(view).fade(false);
+  }
+
+  private static Fader getFader(View view) {
+    Fader fader = (Fader) view.getTag(R.id.colorpickerview_skydoves_fader);
+    if (fader == null) {
+      fader = new Fader(view);
+      view.setTag(R.id.colorpickerview_skydoves_fader, fader);
+    }
+    return fader;
+  }
+
+  /** Fader runs the fades of a view and restores the view's state after a fade. */
+  private static class Fader extends AnimatorListenerAdapter {
+
+    private final View view;
+    private float restingAlpha;
+    private int restingLayerType;
+    private boolean isFading;
+    private boolean isFadingOut;
+    private boolean isCanceling;
+
+    private Fader(View view) {
+      this.view = view;
+    }
+
+    private void fade(boolean fadeIn) {
+      ViewPropertyAnimator animator = view.animate();
+      if (isFading) {
+        isCanceling = true;
+        animator.cancel();
+        isCanceling = false;
+      } else {
+        restingAlpha = view.getAlpha();
+        restingLayerType = view.getLayerType();
+        if (fadeIn) view.setAlpha(0f);
+        if (restingLayerType != View.LAYER_TYPE_HARDWARE) {
+          view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+      }
+      isFading = true;
+      isFadingOut = !fadeIn;
+      if (fadeIn) view.setVisibility(View.VISIBLE);
+      animator
+          .alpha(fadeIn ? restingAlpha : 0f)
+          .setDuration(FADE_DURATION)
+          .setInterpolator(INTERPOLATOR)
+          .setListener(this)
+          .start();
+    }
+
+    @Override
+    public void onAnimationEnd(Animator animation) {
+      if (isCanceling) return;
+      isFading = false;
+      view.animate().setListener(null);
+      if (view.getLayerType() != restingLayerType) {
+        view.setLayerType(restingLayerType, null);
+      }
+      if (isFadingOut) {
+        view.setVisibility(View.INVISIBLE);
+        view.setAlpha(restingAlpha);
+      }
+    }
   }
 }
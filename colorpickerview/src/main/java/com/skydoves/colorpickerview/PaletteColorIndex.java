@@ -0,0 +1,242 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.Bitmap;
+import android.graphics.Color;
+import android.graphics.Point;
+import androidx.annotation.ColorInt;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+/**
+ * PaletteColorIndex maps colors to pixel coordinates of a palette bitmap.
+ *
+ * <p>The pixels are subsampled on a regular grid and stored as a k-d tree in the CIELAB color
+ * space, so the perceptually closest sample is found in logarithmic time. The result is refined by
+ * scanning the grid cell around the sample on the bitmap.
+ */
+class PaletteColorIndex {
+
+  private static final int MAX_SAMPLES = 1 << 16;
+  private static final float[] LINEAR_RGB = new float[256];
+
+  static {
+    for (int i = 0; i < 256; i++) {
+      float c = i / 255f;
+      LINEAR_RGB[i] =
+          c <= 0.04045f ? c / 12.92f : (float) Math.pow((c + 0.055f) / 1.055f, 2.4f);
+    }
+  }
+
+  private final Bitmap bitmap;
+  private final int step;
+  private final int size;
+  private final float[] labs;
+  private final int[] pixelX;
+  private final int[] pixelY;
+
+  private final float[] target = new float[3];
+  private final float[] candidate = new float[3];
+  private final int[] cellPixels;
+  private int bestIndex;
+  private float bestDistance;
+
+  private PaletteColorIndex(
+      Bitmap bitmap, int step, int size, float[] labs, int[] pixelX, int[] pixelY) {
+    this.bitmap = bitmap;
+    this.step = step;
+    this.size = size;
+    this.labs = labs;
+    this.pixelX = pixelX;
+    this.pixelY = pixelY;
+    this.cellPixels = new int[step * step];
+  }
+
+  /**
+   * builds an index of the bitmap. this is expensive and should be called off the main thread.
+   *
+   * @param bitmap palette bitmap.
+   * @return built index or null if the bitmap has no selectable pixels.
+   */
+  @WorkerThread
+  protected static @Nullable PaletteColorIndex build(@NonNull Bitmap bitmap) {
+    if (bitmap.isRecycled() || bitmap.getWidth() <= 0 || bitmap.getHeight() <= 0) return null;
+    int width = bitmap.getWidth();
+    int height = bitmap.getHeight();
+    int step = Math.max(1, (int) Math.ceil(Math.sqrt((double) width * height / MAX_SAMPLES)));
+
+    int capacity = ((width + step - 1) / step) * ((height + step - 1) / step);
+    float[] labs = new float[capacity * 3];
+    int[] pixelX = new int[capacity];
+    int[] pixelY = new int[capacity];
+    int[] row = new int[width];
+    int size = 0;
+    for (int y = step / 2; y < height; y += step) {
+      bitmap.getPixels(row, 0, width, 0, y, width, 1);
+      for (int x = step / 2; x < width; x += step) {
+        int color = row[x];
+        if (Color.alpha(color) == 0) continue;
+        toLab(color, labs, size * 3);
+        pixelX[size] = x;
+        pixelY[size] = y;
+        size++;
+      }
+    }
+    if (size == 0) return null;
+
+    buildTree(labs, pixelX, pixelY, 0, size, 0);
+    return new PaletteColorIndex(bitmap, step, size, labs, pixelX, pixelY);
+  }
+
+  /**
+   * finds the pixel coordinate of the closest color on the bitmap.
+   *
+   * @param color color to find.
+   * @param out receives the pixel coordinate on the bitmap.
+   * @return true if a pixel has been found.
+   */
+  @MainThread
+  protected boolean findNearest(@ColorInt int color, @NonNull Point out) {
+    if (bitmap.isRecycled()) return false;
+    toLab(color, target, 0);
+    bestIndex = -1;
+    bestDistance = Float.MAX_VALUE;
+    search(0, size, 0);
+    if (bestIndex < 0) return false;
+
+    int nearestX = pixelX[bestIndex];
+    int nearestY = pixelY[bestIndex];
+    if (step > 1) {
+      int left = Math.max(0, nearestX - step / 2);
+      int top = Math.max(0, nearestY - step / 2);
+      int cellWidth = Math.min(step, bitmap.getWidth() - left);
+      int cellHeight = Math.min(step, bitmap.getHeight() - top);
+      bitmap.getPixels(cellPixels, 0, cellWidth, left, top, cellWidth, cellHeight);
+      for (int i = 0; i < cellWidth * cellHeight; i++) {
+        int pixel = cellPixels[i];
+        if (Color.alpha(pixel) == 0) continue;
+        toLab(pixel, candidate, 0);
+        float distance = distance(candidate, 0, target);
+        if (distance < bestDistance) {
+          bestDistance = distance;
+          nearestX = left + i % cellWidth;
+          nearestY = top + i / cellWidth;
+        }
+      }
+    }
+    out.set(nearestX, nearestY);
+    return true;
+  }
+
+  /**
+   * gets the bitmap of the index.
+   *
+   * @return indexed bitmap.
+   */
+  protected Bitmap getBitmap() {
+    return bitmap;
+  }
+
+  private void search(int from, int to, int depth) {
+    if (from >= to) return;
+    int median = (from + to) >>> 1;
+    float distance = distance(labs, median * 3, target);
+    if (distance < bestDistance) {
+      bestDistance = distance;
+      bestIndex = median;
+    }
+    int axis = depth % 3;
+    float delta = target[axis] - labs[median * 3 + axis];
+    if (delta < 0) {
+      search(from, median, depth + 1);
+      if (delta * delta < bestDistance) search(median + 1, to, depth + 1);
+    } else {
+      search(median + 1, to, depth + 1);
+      if (delta * delta < bestDistance) search(from, median, depth + 1);
+    }
+  }
+
+  /** orders the samples as an implicit k-d tree, the median of each range is the node. */
+  private static void buildTree(float[] labs, int[] xs, int[] ys, int from, int to, int depth) {
+    if (to - from <= 1) return;
+    int median = (from + to) >>> 1;
+    int axis = depth % 3;
+    int left = from;
+    int right = to - 1;
+    while (right > left) {
+      float pivot = labs[((left + right) >>> 1) * 3 + axis];
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (labs[i * 3 + axis] < pivot) i++;
+        while (labs[j * 3 + axis] > pivot) j--;
+        if (i <= j) {
+          swap(labs, xs, ys, i, j);
+          i++;
+          j--;
+        }
+      }
+      if (median <= j) right = j;
+      else if (median >= i) left = i;
+      else break;
+    }
+    buildTree(labs, xs, ys, from, median, depth + 1);
+    buildTree(labs, xs, ys, median + 1, to, depth + 1);
+  }
+
+  private static void swap(float[] labs, int[] xs, int[] ys, int i, int j) {
+    if (i == j) return;
+    for (int k = 0; k < 3; k++) {
+      float lab = labs[i * 3 + k];
+      labs[i * 3 + k] = labs[j * 3 + k];
+      labs[j * 3 + k] = lab;
+    }
+    int x = xs[i];
+    xs[i] = xs[j];
+    xs[j] = x;
+    int y = ys[i];
+    ys[i] = ys[j];
+    ys[j] = y;
+  }
+
+  private static float distance(float[] labs, int offset, float[] target) {
+    float l = labs[offset] - target[0];
+    float a = labs[offset + 1] - target[1];
+    float b = labs[offset + 2] - target[2];
+    return l * l + a * a + b * b;
+  }
+
+  /** converts a color to the CIELAB color space under the D65 white point. */
+  private static void toLab(@ColorInt int color, float[] out, int offset) {
+    float r = LINEAR_RGB[Color.red(color)];
+    float g = LINEAR_RGB[Color.green(color)];
+    float b = LINEAR_RGB[Color.blue(color)];
+    float x = labComponent((0.4124f * r + 0.3576f * g + 0.1805f * b) / 0.95047f);
+    float y = labComponent(0.2126f * r + 0.7152f * g + 0.0722f * b);
+    float z = labComponent((0.0193f * r + 0.1192f * g + 0.9505f * b) / 1.08883f);
+    out[offset] = 116f * y - 16f;
+    out[offset + 1] = 500f * (x - y);
+    out[offset + 2] = 200f * (y - z);
+  }
+
+  private static float labComponent(float value) {
+    return value > 0.008856f ? (float) Math.cbrt(value) : 7.787f * value + 16f / 116f;
+  }
+}
@@ -0,0 +1,33 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+/**
+ * PaletteLayerPolicy controls when the palette of the {@link ColorPickerView} is rendered into a
+ * hardware layer, so the palette is composited from a texture instead of being drawn again while
+ * the selector moves. It has no effect on the flat rendering mode.
+ */
+public enum PaletteLayerPolicy {
+  /** never uses a hardware layer for the palette. it is the default policy. */
+  NONE,
+
+  /** uses a hardware layer only while a user is dragging the selector. */
+  WHILE_DRAGGING,
+
+  /** always uses a hardware layer for the palette. it costs a texture memory of the palette. */
+  ALWAYS
+}
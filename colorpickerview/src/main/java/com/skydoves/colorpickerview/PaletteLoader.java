@@ -0,0 +1,143 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.content.ContentResolver;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * PaletteLoader decodes palette images subsampled to a requested size. The size of the image is
+ * read by a bounds-only pass first, so the full resolution image is never decoded.
+ */
+class PaletteLoader {
+
+  /** the maximum bytes of an image stream which are buffered while reading the bounds. */
+  protected static final int MARK_LIMIT = 1024 * 1024;
+
+  private static final int BUFFER_SIZE = 16 * 1024;
+
+  private PaletteLoader() {}
+
+  /** Decoder decodes a palette bitmap for the requested size. */
+  interface Decoder {
+    @Nullable
+    Bitmap decode(int requestedWidth, int requestedHeight) throws IOException;
+  }
+
+  /**
+   * decodes an image stream. up to {@link #MARK_LIMIT} bytes of the stream are buffered while
+   * reading the bounds, so it is read only once, and it is closed after decoding.
+   *
+   * @throws IOException if the bounds can't be read within {@link #MARK_LIMIT} bytes.
+   */
+  protected static @Nullable Bitmap decodeStream(
+      @NonNull InputStream inputStream, int requestedWidth, int requestedHeight)
+      throws IOException {
+    BufferedInputStream stream = new BufferedInputStream(inputStream, BUFFER_SIZE);
+    try {
+      stream.mark(MARK_LIMIT);
+      BitmapFactory.Options options = decodeBounds(stream);
+      try {
+        stream.reset();
+      } catch (IOException e) {
+        throw new IOException("The size of the image can't be read within the mark limit.", e);
+      }
+      return decodeSampled(stream, options, requestedWidth, requestedHeight);
+    } finally {
+      stream.close();
+    }
+  }
+
+  /** decodes an image of the uri. the uri is opened for each pass. */
+  protected static @Nullable Bitmap decodeUri(
+      @NonNull ContentResolver resolver, @NonNull Uri uri, int requestedWidth, int requestedHeight)
+      throws IOException {
+    BitmapFactory.Options options;
+    InputStream stream = openStream(resolver, uri);
+    try {
+      options = decodeBounds(stream);
+    } finally {
+      stream.close();
+    }
+    stream = openStream(resolver, uri);
+    try {
+      return decodeSampled(stream, options, requestedWidth, requestedHeight);
+    } finally {
+      stream.close();
+    }
+  }
+
+  /**
+   * gets the largest power of two sample size which keeps the image larger than the requested
+   * size on both sides.
+   */
+  protected static int calculateInSampleSize(
+      int width, int height, int requestedWidth, int requestedHeight) {
+    int sampleSize = 1;
+    if (requestedWidth <= 0 || requestedHeight <= 0) return sampleSize;
+    while (width / (sampleSize * 2) >= requestedWidth
+        && height / (sampleSize * 2) >= requestedHeight) {
+      sampleSize *= 2;
+    }
+    return sampleSize;
+  }
+
+  /** closes the source if it is not null, ignoring the failure. */
+  protected static void closeQuietly(@Nullable Closeable source) {
+    if (source == null) return;
+    try {
+      source.close();
+    } catch (IOException e) {
+      // the source is not used anymore.
+    }
+  }
+
+  private static InputStream openStream(ContentResolver resolver, Uri uri) throws IOException {
+    InputStream stream = resolver.openInputStream(uri);
+    if (stream == null) {
+      throw new FileNotFoundException("The image of the uri can't be opened.");
+    }
+    return stream;
+  }
+
+  private static BitmapFactory.Options decodeBounds(InputStream stream) throws IOException {
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inJustDecodeBounds = true;
+    BitmapFactory.decodeStream(stream, null, options);
+    if (options.outWidth <= 0 || options.outHeight <= 0) {
+      throw new IOException("The size of the image can't be decoded.");
+    }
+    return options;
+  }
+
+  private static @Nullable Bitmap decodeSampled(
+      InputStream stream, BitmapFactory.Options options, int requestedWidth, int requestedHeight) {
+    options.inSampleSize =
+        calculateInSampleSize(options.outWidth, options.outHeight, requestedWidth, requestedHeight);
+    options.inJustDecodeBounds = false;
+    return BitmapFactory.decodeStream(stream, null, options);
+  }
+}
@@ -16,52 +16,39 @@
 
 package com.skydoves.colorpickerview;
 
-import android.graphics.Color;
-import android.graphics.Point;
+import android.graphics.PointF;
 
+/**
+ * PointMapper maps coordinates between the {@link ColorPickerView} and its palette drawable with
+ * the cached palette matrices. It is used only on the main thread and reuses a scratch buffer.
+ */
 class PointMapper {
-  private PointMapper() {}
-
-  protected static Point getColorPoint(ColorPickerView colorPickerView, Point point) {
-    Point center =
-        new Point(colorPickerView.getMeasuredWidth() / 2, colorPickerView.getMeasuredHeight() / 2);
-    if (colorPickerView.isHuePalette()) return getHuePoint(colorPickerView, point);
-    return approximatedPoint(colorPickerView, point, center);
-  }
+  private static final float[] points = new float[2];
 
-  private static Point approximatedPoint(ColorPickerView colorPickerView, Point start, Point end) {
-    if (getDistance(start, end) <= 3) return end;
-    Point center = getCenterPoint(start, end);
-    int color = colorPickerView.getColorFromBitmap(center.x, center.y);
-    if (color == Color.TRANSPARENT) {
-      return approximatedPoint(colorPickerView, center, end);
-    } else {
-      return approximatedPoint(colorPickerView, start, center);
-    }
-  }
+  private PointMapper() {}
 
-  private static Point getHuePoint(ColorPickerView colorPickerView, Point point) {
-    float centerX = colorPickerView.getWidth() * 0.5f;
-    float centerY = colorPickerView.getHeight() * 0.5f;
-    float x = point.x - centerX;
-    float y = point.y - centerY;
-    float radius = Math.min(centerX, centerY);
-    double r = Math.sqrt(x * x + y * y);
-    if (r > radius) {
-      x *= radius / r;
-      y *= radius / r;
-    }
-    return new Point((int) (x + centerX), (int) (y + centerY));
+  /** moves a coordinate on the {@link ColorPickerView} to the closest selectable coordinate. */
+  protected static void clampToPalette(ColorPickerView colorPickerView, PointF point) {
+    ColorPalette colorPalette = colorPickerView.getColorPalette();
+    if (colorPalette == null) return;
+    mapToPalette(colorPickerView, point);
+    colorPalette.clamp(point);
+    mapFromPalette(colorPickerView, point);
   }
 
-  private static Point getCenterPoint(Point start, Point end) {
-    return new Point((end.x + start.x) / 2, (end.y + start.y) / 2);
+  /** maps a coordinate on the {@link ColorPickerView} to the palette drawable's coordinate. */
+  protected static void mapToPalette(ColorPickerView colorPickerView, PointF point) {
+    points[0] = point.x;
+    points[1] = point.y;
+    colorPickerView.getPaletteInverseMatrix().mapPoints(points);
+    point.set(points[0], points[1]);
   }
 
-  private static int getDistance(Point start, Point end) {
-    return (int)
-        Math.sqrt(
-            Math.abs(end.x - start.x) * Math.abs(end.x - start.x)
-                + Math.abs(end.y - start.y) * Math.abs(end.y - start.y));
+  /** maps a palette drawable's coordinate to the coordinate on the {@link ColorPickerView}. */
+  protected static void mapFromPalette(ColorPickerView colorPickerView, PointF point) {
+    points[0] = point.x;
+    points[1] = point.y;
+    colorPickerView.getPaletteMatrix().mapPoints(points);
+    point.set(points[0], points[1]);
   }
 }
@@ -0,0 +1,507 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Point;
+import android.graphics.PointF;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * RegionDecoderPalette is a drawable palette of a large image decoded by a {@link
+ * BitmapRegionDecoder}. The image is never decoded at its full size at once.
+ *
+ * <p>A low resolution base image is decoded when the palette is created, and fixed-size tiles of
+ * the visible area are decoded on a background thread while zooming in. The tiles are kept in an
+ * LRU cache under a byte budget. Colors are read from the full resolution tile of the pixel. If the
+ * tile is not cached, the color is approximated from the finest cached tile or the base image, and
+ * the full resolution tile is decoded in the background for refining it.
+ *
+ * <p>The palette fills the bounds given by the {@link ColorPickerView} and fits the image into
+ * them, so it can be zoomed and panned by a pinch gesture on the {@link ColorPickerView}.
+ * Creating the palette decodes the base image, so it should be created off the main thread for
+ * very large images.
+ */
+public class RegionDecoderPalette extends Drawable
+    implements AsyncColorPalette, ZoomableColorPalette {
+
+  /** the width and height of a decoded tile in pixels. */
+  public static final int TILE_SIZE = 256;
+
+  /** the default byte budget of the tile cache. */
+  public static final int DEFAULT_CACHE_BYTES = 32 * 1024 * 1024;
+
+  private static final int BASE_MAX_SIZE = 1024;
+  private static final float MAX_PIXEL_SCALE = 8f;
+
+  private final BitmapRegionDecoder decoder;
+  private final int imageWidth;
+  private final int imageHeight;
+  private final Bitmap base;
+  private final int baseSampleSize;
+  private final LruCache<Long, Bitmap> tileCache;
+  private final Set<Long> pendingTiles = new HashSet<>();
+  private final Set<Long> requiredTiles = new HashSet<>();
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+  private final RectF destRect = new RectF();
+  private final Point pixelPoint = new Point();
+  private volatile int[] visibleTiles = new int[5];
+  private PaletteColorIndex colorIndex;
+  private PaletteCallback paletteCallback;
+  private volatile boolean isRecycled = false;
+
+  private float zoom = 1f;
+  private float scale;
+  private float translateX;
+  private float translateY;
+
+  private int lastPixelX = -1;
+  private int lastPixelY = -1;
+  private int lastPixelColor;
+
+  public RegionDecoderPalette(@NonNull BitmapRegionDecoder decoder) {
+    this(decoder, DEFAULT_CACHE_BYTES);
+  }
+
+  public RegionDecoderPalette(@NonNull BitmapRegionDecoder decoder, int cacheBytes) {
+    this.decoder = decoder;
+    this.imageWidth = decoder.getWidth();
+    this.imageHeight = decoder.getHeight();
+
+    int sampleSize = 1;
+    while (Math.max(imageWidth, imageHeight) / sampleSize > BASE_MAX_SIZE) {
+      sampleSize *= 2;
+    }
+    this.baseSampleSize = sampleSize;
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inSampleSize = sampleSize;
+    this.base = decoder.decodeRegion(new Rect(0, 0, imageWidth, imageHeight), options);
+    if (base == null) {
+      throw new IllegalArgumentException("The image of the BitmapRegionDecoder can't be decoded.");
+    }
+
+    this.tileCache =
+        new LruCache<Long, Bitmap>(cacheBytes) {
+          @Override
+          protected int sizeOf(Long key, Bitmap tile) {
+            return tile.getByteCount();
+          }
+        };
+    BackgroundExecutor.get()
+        .execute(
+            () -> {
+              final PaletteColorIndex index = PaletteColorIndex.build(base);
+              mainHandler.post(
+                  () -> {
+                    colorIndex = index;
+                    if (paletteCallback != null) paletteCallback.onColorIndexReady();
+                  });
+            });
+  }
+
+  /**
+   * creates a palette from an image stream.
+   *
+   * @param inputStream the stream of an image. it is not closed by this method.
+   * @return {@link RegionDecoderPalette}.
+   * @throws IOException if the image format is not supported or can't be read.
+   */
+  @SuppressWarnings("deprecation")
+  public static @NonNull RegionDecoderPalette decode(@NonNull InputStream inputStream)
+      throws IOException {
+    BitmapRegionDecoder decoder =
+        Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+            ? BitmapRegionDecoder.newInstance(inputStream)
+            : BitmapRegionDecoder.newInstance(inputStream, false);
+    if (decoder == null) {
+      throw new IOException("The image format is not supported.");
+    }
+    return new RegionDecoderPalette(decoder);
+  }
+
+  /**
+   * gets the width of the whole image.
+   *
+   * @return width in pixels.
+   */
+  public int getImageWidth() {
+    return imageWidth;
+  }
+
+  /**
+   * gets the height of the whole image.
+   *
+   * @return height in pixels.
+   */
+  public int getImageHeight() {
+    return imageHeight;
+  }
+
+  /**
+   * gets the zoom relative to the image fitted into the bounds.
+   *
+   * @return zoom, 1 when the whole image is fitted.
+   */
+  public float getZoom() {
+    return zoom;
+  }
+
+  @Override
+  public void zoomBy(float factor, float focusX, float focusY) {
+    float fitScale = getFitScale();
+    if (fitScale <= 0f) return;
+    float maxZoom = Math.max(1f, MAX_PIXEL_SCALE / fitScale);
+    float newZoom = Math.max(1f, Math.min(maxZoom, zoom * factor));
+    float appliedFactor = newZoom / zoom;
+    zoom = newZoom;
+    scale = fitScale * zoom;
+    translateX = focusX - (focusX - translateX) * appliedFactor;
+    translateY = focusY - (focusY - translateY) * appliedFactor;
+    constrainTranslation();
+    invalidateSelf();
+  }
+
+  @Override
+  public void panBy(float dx, float dy) {
+    translateX += dx;
+    translateY += dy;
+    constrainTranslation();
+    invalidateSelf();
+  }
+
+  @Override
+  public void resetZoom() {
+    zoom = 1f;
+    scale = getFitScale();
+    constrainTranslation();
+    invalidateSelf();
+  }
+
+  /** maps a coordinate on the drawable to the pixel coordinate of the whole image. */
+  @Override
+  public void mapToImage(@NonNull PointF point) {
+    if (scale <= 0f) return;
+    point.set((point.x - translateX) / scale, (point.y - translateY) / scale);
+  }
+
+  /** maps a pixel coordinate of the whole image to the coordinate on the drawable. */
+  @Override
+  public void mapFromImage(@NonNull PointF point) {
+    point.set(point.x * scale + translateX, point.y * scale + translateY);
+  }
+
+  /**
+   * releases the cached tiles and the decoder. the palette can't be drawn after recycled, the
+   * pending decodes are dropped and the colors are read from the base image.
+   */
+  public void recycle() {
+    isRecycled = true;
+    pendingTiles.clear();
+    requiredTiles.clear();
+    tileCache.evictAll();
+    decoder.recycle();
+  }
+
+  @Override
+  protected void onBoundsChange(Rect bounds) {
+    super.onBoundsChange(bounds);
+    scale = getFitScale() * zoom;
+    constrainTranslation();
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    Rect bounds = getBounds();
+    if (bounds.isEmpty() || scale <= 0f || isRecycled) return;
+    int saveCount = canvas.save();
+    canvas.clipRect(bounds);
+    destRect.set(
+        translateX, translateY, translateX + imageWidth * scale, translateY + imageHeight * scale);
+    canvas.drawBitmap(base, null, destRect, paint);
+    int sampleSize = getTileSampleSize();
+    if (sampleSize < baseSampleSize) {
+      drawTiles(canvas, bounds, sampleSize);
+    }
+    canvas.restoreToCount(saveCount);
+  }
+
+  /** draws the cached tiles over the base image and requests the missing visible tiles. */
+  private void drawTiles(Canvas canvas, Rect bounds, int sampleSize) {
+    int tileExtent = TILE_SIZE * sampleSize;
+    int left = Math.max(0, (int) ((bounds.left - translateX) / scale) / tileExtent);
+    int top = Math.max(0, (int) ((bounds.top - translateY) / scale) / tileExtent);
+    int right = (int) ((bounds.right - translateX) / scale) / tileExtent;
+    int bottom = (int) ((bounds.bottom - translateY) / scale) / tileExtent;
+    right = Math.min((imageWidth - 1) / tileExtent, right);
+    bottom = Math.min((imageHeight - 1) / tileExtent, bottom);
+    updateVisibleTiles(sampleSize, left, top, right, bottom);
+
+    for (int row = top; row <= bottom; row++) {
+      for (int column = left; column <= right; column++) {
+        long key = getTileKey(sampleSize, column, row);
+        Bitmap tile = tileCache.get(key);
+        if (tile == null) {
+          requestTile(key, sampleSize, column, row, false);
+          continue;
+        }
+        int tileLeft = column * tileExtent;
+        int tileTop = row * tileExtent;
+        destRect.set(
+            translateX + tileLeft * scale,
+            translateY + tileTop * scale,
+            translateX + Math.min(imageWidth, tileLeft + tileExtent) * scale,
+            translateY + Math.min(imageHeight, tileTop + tileExtent) * scale);
+        canvas.drawBitmap(tile, null, destRect, paint);
+      }
+    }
+  }
+
+  /**
+   * decodes a tile on the background thread. a tile for drawing is decoded only if it is still
+   * visible when the work starts, and a required tile for refining colors is always decoded.
+   */
+  private void requestTile(long key, int sampleSize, int column, int row, boolean required) {
+    if (isRecycled) return;
+    if (required) requiredTiles.add(key);
+    if (!pendingTiles.add(key)) return;
+    BackgroundExecutor.get()
+        .execute(
+            () -> {
+              final Bitmap tile =
+                  required || isTileVisible(sampleSize, column, row)
+                      ? decodeTile(sampleSize, column, row)
+                      : null;
+              mainHandler.post(
+                  () -> {
+                    if (isRecycled) return;
+                    pendingTiles.remove(key);
+                    if (tile == null) {
+                      if (!required && requiredTiles.contains(key)) {
+                        requestTile(key, sampleSize, column, row, true);
+                      } else {
+                        requiredTiles.remove(key);
+                      }
+                      return;
+                    }
+                    requiredTiles.remove(key);
+                    tileCache.put(key, tile);
+                    invalidateSelf();
+                    if (sampleSize == 1 && paletteCallback != null) {
+                      paletteCallback.onColorsRefined();
+                    }
+                  });
+            });
+  }
+
+  private @Nullable Bitmap decodeTile(int sampleSize, int column, int row) {
+    if (isRecycled) return null;
+    int tileExtent = TILE_SIZE * sampleSize;
+    int left = column * tileExtent;
+    int top = row * tileExtent;
+    Rect region =
+        new Rect(
+            left,
+            top,
+            Math.min(imageWidth, left + tileExtent),
+            Math.min(imageHeight, top + tileExtent));
+    BitmapFactory.Options options = new BitmapFactory.Options();
+    options.inSampleSize = sampleSize;
+    try {
+      return decoder.decodeRegion(region, options);
+    } catch (IllegalStateException e) {
+      // the decoder has been recycled while waiting for the decode.
+      return null;
+    }
+  }
+
+  private void updateVisibleTiles(int sampleSize, int left, int top, int right, int bottom) {
+    int[] tiles = visibleTiles;
+    if (tiles[0] != sampleSize
+        || tiles[1] != left
+        || tiles[2] != top
+        || tiles[3] != right
+        || tiles[4] != bottom) {
+      visibleTiles = new int[] {sampleSize, left, top, right, bottom};
+    }
+  }
+
+  private boolean isTileVisible(int sampleSize, int column, int row) {
+    int[] tiles = visibleTiles;
+    return tiles[0] == sampleSize
+        && column >= tiles[1]
+        && row >= tiles[2]
+        && column <= tiles[3]
+        && row <= tiles[4];
+  }
+
+  /** gets the largest power of two sample size which still has a pixel for each screen pixel. */
+  private int getTileSampleSize() {
+    int sampleSize = 1;
+    while (sampleSize * 2 * scale <= 1f) {
+      sampleSize *= 2;
+    }
+    return sampleSize;
+  }
+
+  private float getFitScale() {
+    Rect bounds = getBounds();
+    if (imageWidth <= 0 || imageHeight <= 0) return 0f;
+    return Math.min(bounds.width() / (float) imageWidth, bounds.height() / (float) imageHeight);
+  }
+
+  /** centers the image if it is smaller than the bounds, or keeps the bounds covered. */
+  private void constrainTranslation() {
+    Rect bounds = getBounds();
+    float width = imageWidth * scale;
+    float height = imageHeight * scale;
+    translateX =
+        width <= bounds.width()
+            ? bounds.left + (bounds.width() - width) * 0.5f
+            : Math.max(bounds.right - width, Math.min(bounds.left, translateX));
+    translateY =
+        height <= bounds.height()
+            ? bounds.top + (bounds.height() - height) * 0.5f
+            : Math.max(bounds.bottom - height, Math.min(bounds.top, translateY));
+  }
+
+  private static long getTileKey(int sampleSize, int column, int row) {
+    return ((long) sampleSize << 48) | ((long) row << 24) | column;
+  }
+
+  @Override
+  public @ColorInt int colorAt(float x, float y) {
+    if (!isSelectable(x, y)) return Color.TRANSPARENT;
+    int pixelX = Math.max(0, Math.min(imageWidth - 1, (int) ((x - translateX) / scale)));
+    int pixelY = Math.max(0, Math.min(imageHeight - 1, (int) ((y - translateY) / scale)));
+    if (pixelX == lastPixelX && pixelY == lastPixelY) return lastPixelColor;
+
+    int column = pixelX / TILE_SIZE;
+    int row = pixelY / TILE_SIZE;
+    long key = getTileKey(1, column, row);
+    Bitmap tile = tileCache.get(key);
+    if (tile == null) {
+      requestTile(key, 1, column, row, true);
+      return approximateColorAt(pixelX, pixelY);
+    }
+    lastPixelX = pixelX;
+    lastPixelY = pixelY;
+    lastPixelColor = tile.getPixel(pixelX % TILE_SIZE, pixelY % TILE_SIZE);
+    return lastPixelColor;
+  }
+
+  /** reads the pixel from the finest cached tile, or from the base image. */
+  private @ColorInt int approximateColorAt(int pixelX, int pixelY) {
+    for (int sampleSize = 2; sampleSize < baseSampleSize; sampleSize *= 2) {
+      int tileExtent = TILE_SIZE * sampleSize;
+      Bitmap tile = tileCache.get(getTileKey(sampleSize, pixelX / tileExtent, pixelY / tileExtent));
+      if (tile != null) {
+        return tile.getPixel(
+            Math.min(tile.getWidth() - 1, pixelX % tileExtent / sampleSize),
+            Math.min(tile.getHeight() - 1, pixelY % tileExtent / sampleSize));
+      }
+    }
+    return base.getPixel(
+        Math.min(base.getWidth() - 1, pixelX / baseSampleSize),
+        Math.min(base.getHeight() - 1, pixelY / baseSampleSize));
+  }
+
+  /**
+   * finds the closest color on the base image. it returns false until the color index is built,
+   * or if the closest color is out of the visible area while zoomed in.
+   */
+  @Override
+  public boolean pointOf(@ColorInt int color, @NonNull PointF out) {
+    PaletteColorIndex index = colorIndex;
+    if (index == null || !index.findNearest(color, pixelPoint)) return false;
+    float x = translateX + (pixelPoint.x + 0.5f) * baseSampleSize * scale;
+    float y = translateY + (pixelPoint.y + 0.5f) * baseSampleSize * scale;
+    if (!isSelectable(x, y)) return false;
+    out.set(x, y);
+    return true;
+  }
+
+  @Override
+  public boolean isColorIndexReady() {
+    return colorIndex != null;
+  }
+
+  @Override
+  public void setPaletteCallback(@Nullable PaletteCallback paletteCallback) {
+    this.paletteCallback = paletteCallback;
+  }
+
+  @Override
+  public boolean isSelectable(float x, float y) {
+    Rect bounds = getBounds();
+    return scale > 0f
+        && x >= Math.max(bounds.left, translateX)
+        && y >= Math.max(bounds.top, translateY)
+        && x <= Math.min(bounds.right, translateX + imageWidth * scale)
+        && y <= Math.min(bounds.bottom, translateY + imageHeight * scale);
+  }
+
+  /** moves the coordinate into the visible area of the image. */
+  @Override
+  public void clamp(@NonNull PointF point) {
+    Rect bounds = getBounds();
+    point.set(
+        Math.max(
+            Math.max(bounds.left, translateX),
+            Math.min(Math.min(bounds.right, translateX + imageWidth * scale), point.x)),
+        Math.max(
+            Math.max(bounds.top, translateY),
+            Math.min(Math.min(bounds.bottom, translateY + imageHeight * scale), point.y)));
+  }
+
+  @Override
+  public void setAlpha(int alpha) {
+    paint.setAlpha(alpha);
+    invalidateSelf();
+  }
+
+  @Override
+  public void setColorFilter(@Nullable ColorFilter colorFilter) {
+    paint.setColorFilter(colorFilter);
+    invalidateSelf();
+  }
+
+  @Override
+  public int getOpacity() {
+    return PixelFormat.TRANSLUCENT;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.view.MotionEvent;
+import android.view.View;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.skydoves.colorpickerview.core.TouchTrace;
+import com.skydoves.colorpickerview.sliders.ChannelSlideBar;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TouchTraceRecorder records the touch events on a {@link ColorPickerView} and its attached
+ * sliders into a {@link TouchTrace}, which can be replayed by the {@code TouchTraceReplayer} of
+ * the test fixtures.
+ *
+ * <p>Only the first pointer is recorded. The touch listeners of the targets are replaced while
+ * recording, and they are cleared when the recording is stopped.
+ */
+public class TouchTraceRecorder {
+
+  private final ColorPickerView colorPickerView;
+  private final List<View> targets = new ArrayList<>();
+  private TouchTrace.Builder builder;
+
+  public TouchTraceRecorder(@NonNull ColorPickerView colorPickerView) {
+    this.colorPickerView = colorPickerView;
+  }
+
+  /** starts recording the touch events of the {@link ColorPickerView} and the attached sliders. */
+  @MainThread
+  public void start() {
+    stopListening();
+    builder = new TouchTrace.Builder();
+    for (int target = 0; ; target++) {
+      View view = findTarget(colorPickerView, target);
+      if (view == null) {
+        if (target >= TouchTrace.TARGET_CHANNEL_SLIDER) break;
+        continue;
+      }
+      final int recordingTarget = target;
+      view.setOnTouchListener(
+          (v, event) -> {
+            record(recordingTarget, event);
+            return false;
+          });
+      targets.add(view);
+    }
+  }
+
+  /**
+   * stops recording.
+   *
+   * @return the recorded {@link TouchTrace}.
+   */
+  @MainThread
+  public @NonNull TouchTrace stop() {
+    stopListening();
+    TouchTrace trace = builder != null ? builder.build() : new TouchTrace.Builder().build();
+    builder = null;
+    return trace;
+  }
+
+  /**
+   * gets whether the events are being recorded.
+   *
+   * @return true if recording.
+   */
+  public boolean isRecording() {
+    return builder != null;
+  }
+
+  private void record(int target, MotionEvent event) {
+    if (builder == null || event.getActionIndex() != 0) return;
+    int action = event.getActionMasked();
+    if (action > MotionEvent.ACTION_CANCEL) return;
+    builder.add(target, action, event.getEventTime(), event.getX(), event.getY());
+  }
+
+  private void stopListening() {
+    for (View view : targets) {
+      view.setOnTouchListener(null);
+    }
+    targets.clear();
+  }
+
+  /**
+   * finds the view of a target.
+   *
+   * @param colorPickerView {@link ColorPickerView}.
+   * @param target the target. see {@link TouchTrace#TARGET_PALETTE}.
+   * @return the view of the target or null if it is not attached.
+   */
+  static @Nullable View findTarget(@NonNull ColorPickerView colorPickerView, int target) {
+    switch (target) {
+      case TouchTrace.TARGET_PALETTE:
+        return colorPickerView;
+      case TouchTrace.TARGET_ALPHA_SLIDER:
+        return colorPickerView.getAlphaSlideBar();
+      case TouchTrace.TARGET_BRIGHTNESS_SLIDER:
+        return colorPickerView.getBrightnessSlider();
+      case TouchTrace.TARGET_HUE_SLIDER:
+        return colorPickerView.getHueSlider();
+      default:
+        List<ChannelSlideBar> channelSliders = colorPickerView.getChannelSliders();
+        int index = target - TouchTrace.TARGET_CHANNEL_SLIDER;
+        return index >= 0 && index < channelSliders.size() ? channelSliders.get(index) : null;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.graphics.PointF;
+import androidx.annotation.NonNull;
+
+/**
+ * ZoomableColorPalette is a {@link ColorPalette} which can be zoomed and panned. The {@link
+ * ColorPickerView} zooms and pans it by a pinch gesture, and keeps the selector on the same image
+ * pixel while transforming it.
+ */
+public interface ZoomableColorPalette extends ColorPalette {
+
+  /**
+   * zooms the image around a focus.
+   *
+   * @param factor zoom factor relative to the current zoom.
+   * @param focusX coordinate x of the focus on the drawable.
+   * @param focusY coordinate y of the focus on the drawable.
+   */
+  void zoomBy(float factor, float focusX, float focusY);
+
+  /**
+   * pans the zoomed image.
+   *
+   * @param dx distance x on the drawable.
+   * @param dy distance y on the drawable.
+   */
+  void panBy(float dx, float dy);
+
+  /** fits the whole image into the bounds again. */
+  void resetZoom();
+
+  /**
+   * maps a coordinate on the drawable to the coordinate of the untransformed image.
+   *
+   * @param point the coordinate on the drawable, replaced by the image coordinate.
+   */
+  void mapToImage(@NonNull PointF point);
+
+  /**
+   * maps a coordinate of the untransformed image to the coordinate on the drawable.
+   *
+   * @param point the image coordinate, replaced by the coordinate on the drawable.
+   */
+  void mapFromImage(@NonNull PointF point);
+}
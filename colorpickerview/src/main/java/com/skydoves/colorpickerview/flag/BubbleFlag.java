@@ -27,6 +27,7 @@ import com.skydoves.colorpickerview.R;
 public class BubbleFlag extends FlagView {
 
   private AppCompatImageView bubble;
+  private ColorStateList bubbleTint;
 
   public BubbleFlag(Context context) {
     super(context, R.layout.flag_bubble_colorpickerview_skydoves);
@@ -40,6 +41,10 @@ public class BubbleFlag extends FlagView {
    */
   @Override
   public void onRefresh(ColorEnvelope colorEnvelope) {
-    ImageViewCompat.setImageTintList(bubble, ColorStateList.valueOf(colorEnvelope.getColor()));
+    int color = colorEnvelope.getColor();
+    if (bubbleTint == null || bubbleTint.getDefaultColor() != color) {
+      bubbleTint = ColorStateList.valueOf(color);
+      ImageViewCompat.setImageTintList(bubble, bubbleTint);
+    }
   }
 }
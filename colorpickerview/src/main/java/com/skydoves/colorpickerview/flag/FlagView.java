@@ -16,11 +16,15 @@
 
 package com.skydoves.colorpickerview.flag;
 
+import static androidx.annotation.RestrictTo.Scope.LIBRARY_GROUP;
+
 import android.content.Context;
 import android.view.LayoutInflater;
 import android.view.MotionEvent;
 import android.view.View;
 import android.widget.RelativeLayout;
+import androidx.annotation.ColorInt;
+import androidx.annotation.RestrictTo;
 import com.skydoves.colorpickerview.ColorEnvelope;
 import com.skydoves.colorpickerview.FadeUtils;
 
@@ -30,6 +34,8 @@ public abstract class FlagView extends RelativeLayout {
 
   private FlagMode flagMode = FlagMode.ALWAYS;
   private boolean flipAble = true;
+  private boolean isColorRefreshed = false;
+  @ColorInt private int refreshedColor;
 
   public FlagView(Context context, int layout) {
     super(context);
@@ -39,6 +45,37 @@ public abstract class FlagView extends RelativeLayout {
   /** called whenever color is changed on {@link com.skydoves.colorpickerview.ColorPickerView}. */
   public abstract void onRefresh(ColorEnvelope colorEnvelope);
 
+  /**
+   * refreshes the flag with a color. {@link #onRefresh(ColorEnvelope)} is invoked only when the
+   * color is different from the last refreshed color.
+   *
+   * @param color a new color.
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public void refreshColor(@ColorInt int color) {
+    if (isColorRefreshed && refreshedColor == color) return;
+    isColorRefreshed = true;
+    refreshedColor = color;
+    onRefresh(new ColorEnvelope(color));
+  }
+
+  /**
+   * moves the flag to a position on the parent using the translation properties only, and writes
+   * only the properties that are changed.
+   *
+   * @param x x position on the parent.
+   * @param y y position on the parent.
+   * @param rotation rotation of the flag.
+   */
+  @RestrictTo(LIBRARY_GROUP)
+  public void updatePosition(float x, float y, float rotation) {
+    float translationX = x - getLeft();
+    float translationY = y - getTop();
+    if (getTranslationX() != translationX) setTranslationX(translationX);
+    if (getTranslationY() != translationY) setTranslationY(translationY);
+    if (getRotation() != rotation) setRotation(rotation);
+  }
+
   public void receiveOnTouchEvent(MotionEvent event) {
     switch (event.getActionMasked()) {
       case MotionEvent.ACTION_DOWN:
@@ -0,0 +1,46 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.listeners;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.FloatRange;
+import androidx.annotation.IntRange;
+
+/**
+ * ColorHsvListener is invoked whenever {@link com.skydoves.colorpickerview.ColorPickerView} is
+ * triggered, with the HSV components of the selected color. the components are taken from the
+ * color state of the {@link com.skydoves.colorpickerview.ColorPickerView} without any allocation.
+ */
+public interface ColorHsvListener extends ColorPickerViewListener {
+  /**
+   * invoked by {@link com.skydoves.colorpickerview.ColorPickerView}.
+   *
+   * @param hue hue between 0 and 360.
+   * @param saturation saturation between 0 and 1.
+   * @param value value between 0 and 1.
+   * @param alpha alpha between 0 and 255.
+   * @param color the last selected color.
+   * @param fromUser triggered by the user(true) or not(false).
+   */
+  void onColorSelected(
+      @FloatRange(from = 0.0, to = 360.0) float hue,
+      @FloatRange(from = 0.0, to = 1.0) float saturation,
+      @FloatRange(from = 0.0, to = 1.0) float value,
+      @IntRange(from = 0, to = 255) int alpha,
+      @ColorInt int color,
+      boolean fromUser);
+}
@@ -0,0 +1,41 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.listeners;
+
+import android.graphics.drawable.Drawable;
+
+/**
+ * PaletteLoadListener is invoked when a palette image loaded by {@link
+ * com.skydoves.colorpickerview.ColorPickerView#setPaletteFromUri(android.net.Uri)} or {@link
+ * com.skydoves.colorpickerview.ColorPickerView#setPaletteFromStream(java.io.InputStream)} is
+ * ready. It is not invoked if the loading is canceled by another palette.
+ */
+public interface PaletteLoadListener {
+  /**
+   * invoked after the loaded palette is set.
+   *
+   * @param palette the palette drawable.
+   */
+  void onPaletteLoaded(Drawable palette);
+
+  /**
+   * invoked when the palette image can't be loaded.
+   *
+   * @param exception the reason of the failure.
+   */
+  void onPaletteLoadFailed(Exception exception);
+}
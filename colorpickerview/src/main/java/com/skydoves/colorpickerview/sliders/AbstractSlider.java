@@ -22,9 +22,10 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Color;
+import android.graphics.LinearGradient;
 import android.graphics.Paint;
-import android.graphics.Point;
 import android.graphics.RectF;
+import android.graphics.Shader;
 import android.graphics.drawable.Drawable;
 import android.os.Build;
 import android.util.AttributeSet;
@@ -40,16 +41,20 @@ import androidx.annotation.ColorRes;
 import androidx.annotation.DimenRes;
 import androidx.annotation.DrawableRes;
 import androidx.annotation.FloatRange;
+import androidx.annotation.Nullable;
 import androidx.appcompat.content.res.AppCompatResources;
 import androidx.core.content.ContextCompat;
 import androidx.core.content.res.ResourcesCompat;
 import com.skydoves.colorpickerview.ActionMode;
+import com.skydoves.colorpickerview.ColorPickerMetrics;
 import com.skydoves.colorpickerview.ColorPickerView;
 import com.skydoves.colorpickerview.R;
+import com.skydoves.colorpickerview.core.ColorStage;
+import com.skydoves.colorpickerview.core.ColorState;
 
 /** AbstractSlider is the abstract class for implementing sliders. */
 @SuppressWarnings("unused")
-abstract class AbstractSlider extends FrameLayout {
+abstract class AbstractSlider extends FrameLayout implements ColorStage {
 
   public ColorPickerView colorPickerView;
   protected Paint colorPaint;
@@ -70,6 +75,15 @@ abstract class AbstractSlider extends FrameLayout {
   protected RectF drawRect;
   protected RectF outerBorderRect;
   protected RectF innerBorderRect;
+  protected final float[] hsv = new float[3];
+  protected long colorState;
+  private boolean hasColorState = false;
+  private Shader colorShader;
+  private int shaderStartColor;
+  private int shaderEndColor;
+  private int shaderWidth;
+  private int shaderHeight;
+  private ColorPickerMetrics metrics;
 
   public AbstractSlider(Context context) {
     super(context);
@@ -191,13 +205,101 @@ abstract class AbstractSlider extends FrameLayout {
     canvas.drawRoundRect(innerBorderRect, cornerRadius, cornerRadius, innerBorderPaint);
   }
 
+  /**
+   * sets a horizontal gradient shader on the paint. the shader is reused while the colors and the
+   * size are not changed.
+   *
+   * @param colorPaint paint of the slider.
+   * @param startColor color at the start of the slider.
+   * @param endColor color at the end of the slider.
+   */
+  protected void updateGradient(
+      Paint colorPaint, @ColorInt int startColor, @ColorInt int endColor) {
+    int width = getMeasuredWidth();
+    int height = getMeasuredHeight();
+    if (colorShader == null
+        || startColor != shaderStartColor
+        || endColor != shaderEndColor
+        || width != shaderWidth
+        || height != shaderHeight) {
+      colorShader =
+          new LinearGradient(0, 0, width, height, startColor, endColor, Shader.TileMode.CLAMP);
+      shaderStartColor = startColor;
+      shaderEndColor = endColor;
+      shaderWidth = width;
+      shaderHeight = height;
+    }
+    if (colorPaint.getShader() != colorShader) {
+      colorPaint.setShader(colorShader);
+    }
+  }
+
+  /** called whenever the selector position is changed by touch events. */
+  protected void onSelectorPositionChanged() {}
+
   /** called by {@link ColorPickerView} whenever {@link ColorPickerView} is triggered. */
   public void notifyColor() {
-    color = colorPickerView.getPureColor();
+    notifyColor(colorPickerView.getPureColor());
+  }
+
+  /**
+   * called by {@link ColorPickerView} with the color assembled by the previous sliders.
+   *
+   * @param color the color which the slider is applied to.
+   */
+  public void notifyColor(@ColorInt int color) {
+    notifyColorState(ColorState.fromColor(color));
+  }
+
+  /**
+   * called by {@link ColorPickerView} with the color state assembled by the previous sliders. the
+   * slider is rendered again only when the color state is changed.
+   *
+   * @param state the packed color state which the slider is applied to. see {@link ColorState}.
+   */
+  @Override
+  public void notifyColorState(long state) {
+    if (hasColorState && colorState == state) return;
+    this.hasColorState = true;
+    this.colorState = state;
+    this.color = ColorState.toColor(state);
     updatePaint(colorPaint);
     invalidate();
   }
 
+  /**
+   * gets the color state assembled before the slider.
+   *
+   * @return the packed color state. see {@link ColorState}.
+   */
+  @Override
+  public long getColorState() {
+    return colorState;
+  }
+
+  /**
+   * applies the value of the slider to a color state. it converts the state to a color by default,
+   * and the sliders changing a component of the HSVA color override it without conversions.
+   *
+   * @param state the color state assembled by the previous sliders.
+   * @return the color state which the slider is applied to.
+   */
+  @Override
+  public long applyToState(long state) {
+    return ColorState.fromColor(applyTo(ColorState.toColor(state)));
+  }
+
+  /**
+   * applies the value of the slider to a color. {@link ColorPickerView} assembles the selected
+   * color by applying the attached sliders to the pure color in order.
+   *
+   * @param color the color assembled by the previous sliders.
+   * @return the color which the slider is applied to.
+   */
+  public @ColorInt int applyTo(@ColorInt int color) {
+    return color;
+  }
+
   @SuppressLint("ClickableViewAccessibility")
   @Override
   public boolean onTouchEvent(MotionEvent event) {
@@ -210,6 +312,7 @@ abstract class AbstractSlider extends FrameLayout {
         case MotionEvent.ACTION_UP:
         case MotionEvent.ACTION_DOWN:
         case MotionEvent.ACTION_MOVE:
+          if (metrics != null) metrics.onTouchEvent();
           selector.setPressed(true);
           onTouchReceived(event);
           return true;
@@ -230,16 +333,16 @@ abstract class AbstractSlider extends FrameLayout {
     if (eventX > right) eventX = right;
     selectorPosition = (eventX - left) / (right - left);
     if (selectorPosition > 1.0f) selectorPosition = 1.0f;
+    onSelectorPositionChanged();
 
-    Point snapPoint = new Point((int) event.getX(), (int) event.getY());
-    selectedX = (int) getBoundaryX(snapPoint.x);
+    selectedX = (int) getBoundaryX((int) event.getX());
     selector.setX(selectedX);
     if (colorPickerView.getActionMode() == ActionMode.LAST) {
       if (event.getAction() == MotionEvent.ACTION_UP) {
-        colorPickerView.fireColorListener(assembleColor(), true);
+        colorPickerView.onSliderChanged(this, true);
       }
     } else {
-      colorPickerView.fireColorListener(assembleColor(), true);
+      colorPickerView.onSliderChanged(this, true);
     }
 
     if (colorPickerView.getFlagView() != null) {
@@ -256,9 +359,10 @@ abstract class AbstractSlider extends FrameLayout {
     float right = getMeasuredWidth() - selector.getMeasuredWidth();
     selectorPosition = (x - left) / (right - left);
     if (selectorPosition > 1.0f) selectorPosition = 1.0f;
+    onSelectorPositionChanged();
     selectedX = (int) getBoundaryX(x);
     selector.setX(selectedX);
-    colorPickerView.fireColorListener(assembleColor(), false);
+    colorPickerView.onSliderChanged(this, false);
   }
 
   public void setSelectorPosition(@FloatRange(from = 0.0, to = 1.0) float selectorPosition) {
@@ -307,6 +411,24 @@ abstract class AbstractSlider extends FrameLayout {
             });
   }
 
+  /**
+   * gets the {@link ColorPickerMetrics} recording on the slider.
+   *
+   * @return {@link ColorPickerMetrics}.
+   */
+  public @Nullable ColorPickerMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * sets a {@link ColorPickerMetrics} for recording the touch events on the slider.
+   *
+   * @param metrics {@link ColorPickerMetrics} or null for disabling.
+   */
+  public void setMetrics(@Nullable ColorPickerMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   /**
    * sets a drawable of the selector.
    *
@@ -442,7 +564,7 @@ abstract class AbstractSlider extends FrameLayout {
    *
    * @return selector's position ratio.
    */
-  protected float getSelectorPosition() {
+  public float getSelectorPosition() {
     return this.selectorPosition;
   }
 
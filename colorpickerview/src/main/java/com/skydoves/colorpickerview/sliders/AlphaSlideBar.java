@@ -20,12 +20,11 @@ import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
-import android.graphics.LinearGradient;
 import android.graphics.Paint;
 import android.graphics.Path;
-import android.graphics.Shader;
 import android.util.AttributeSet;
 import androidx.annotation.ColorInt;
+import com.skydoves.colorpickerview.core.ColorState;
 import com.skydoves.colorpickerview.preference.ColorPickerPreferenceManager;
 
 /**
@@ -72,20 +71,9 @@ public class AlphaSlideBar extends AbstractSlider {
 
   @Override
   public void updatePaint(Paint colorPaint) {
-    float[] hsv = new float[3];
-    Color.colorToHSV(getColor(), hsv);
-    int startColor = Color.HSVToColor(0, hsv);
-    int endColor = Color.HSVToColor(255, hsv);
-    Shader shader =
-        new LinearGradient(
-            0,
-            0,
-            getMeasuredWidth(),
-            getMeasuredHeight(),
-            startColor,
-            endColor,
-            Shader.TileMode.CLAMP);
-    colorPaint.setShader(shader);
+    int startColor = ColorState.toColor(ColorState.withAlpha(colorState, 0f));
+    int endColor = ColorState.toColor(ColorState.withAlpha(colorState, 1f));
+    updateGradient(colorPaint, startColor, endColor);
   }
 
   @Override
@@ -107,11 +95,21 @@ public class AlphaSlideBar extends AbstractSlider {
     super.onDraw(canvas);
   }
 
+  @Override
+  public @ColorInt int applyTo(@ColorInt int color) {
+    int alpha = ColorState.toAlphaByte(selectorPosition);
+    return (color & 0x00FFFFFF) | (alpha << 24);
+  }
+
+  @Override
+  public long applyToState(long state) {
+    return ColorState.withAlpha(state, selectorPosition);
+  }
+
   @Override
   public @ColorInt int assembleColor() {
-    float[] hsv = new float[3];
     Color.colorToHSV(getColor(), hsv);
-    int alpha = (int) (selectorPosition * 255);
+    int alpha = ColorState.toAlphaByte(selectorPosition);
     return Color.HSVToColor(alpha, hsv);
   }
 }
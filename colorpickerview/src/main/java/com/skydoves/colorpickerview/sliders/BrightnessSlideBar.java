@@ -18,11 +18,10 @@ package com.skydoves.colorpickerview.sliders;
 
 import android.content.Context;
 import android.graphics.Color;
-import android.graphics.LinearGradient;
 import android.graphics.Paint;
-import android.graphics.Shader;
 import android.util.AttributeSet;
 import androidx.annotation.ColorInt;
+import com.skydoves.colorpickerview.core.ColorState;
 import com.skydoves.colorpickerview.preference.ColorPickerPreferenceManager;
 
 /**
@@ -54,16 +53,10 @@ public class BrightnessSlideBar extends AbstractSlider {
 
   @Override
   protected void updatePaint(Paint colorPaint) {
-    float[] hsv = new float[3];
-    Color.colorToHSV(getColor(), hsv);
-    hsv[2] = 0;
-    int startColor = Color.HSVToColor(hsv);
-    hsv[2] = 1;
-    int endColor = Color.HSVToColor(hsv);
-    Shader shader =
-        new LinearGradient(
-            0, 0, getWidth(), getHeight(), startColor, endColor, Shader.TileMode.CLAMP);
-    colorPaint.setShader(shader);
+    long opaqueState = ColorState.withAlpha(colorState, 1f);
+    int startColor = ColorState.toColor(ColorState.withValue(opaqueState, 0f));
+    int endColor = ColorState.toColor(ColorState.withValue(opaqueState, 1f));
+    updateGradient(colorPaint, startColor, endColor);
   }
 
   @Override
@@ -79,13 +72,25 @@ public class BrightnessSlideBar extends AbstractSlider {
     }
   }
 
+  @Override
+  public @ColorInt int applyTo(@ColorInt int color) {
+    Color.colorToHSV(color, hsv);
+    hsv[2] = selectorPosition;
+    return Color.HSVToColor(Color.alpha(color), hsv);
+  }
+
+  @Override
+  public long applyToState(long state) {
+    return ColorState.withValue(state, selectorPosition);
+  }
+
   @Override
   public @ColorInt int assembleColor() {
-    float[] hsv = new float[3];
     Color.colorToHSV(getColor(), hsv);
     hsv[2] = selectorPosition;
     if (colorPickerView != null && colorPickerView.getAlphaSlideBar() != null) {
-      int alpha = (int) (colorPickerView.getAlphaSlideBar().getSelectorPosition() * 255);
+      float alphaPosition = colorPickerView.getAlphaSlideBar().getSelectorPosition();
+      int alpha = ColorState.toAlphaByte(alphaPosition);
       return Color.HSVToColor(alpha, hsv);
     }
     return Color.HSVToColor(hsv);
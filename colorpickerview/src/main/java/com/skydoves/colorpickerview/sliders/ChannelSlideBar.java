@@ -0,0 +1,171 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.sliders;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Bitmap;
+import android.graphics.BitmapShader;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.util.AttributeSet;
+import androidx.annotation.ColorInt;
+import androidx.annotation.NonNull;
+import com.skydoves.colorpickerview.R;
+import com.skydoves.colorpickerview.core.ColorState;
+
+/**
+ * ChannelSlideBar extends {@link AbstractSlider} and changes a {@link ColorChannel} of the
+ * selected color. It is attached by {@link
+ * com.skydoves.colorpickerview.ColorPickerView#attachChannelSlider(ChannelSlideBar)}.
+ *
+ * <p>The gradient is rendered from a 1-D lookup table of the channel colors, which is rebuilt only
+ * when the color assembled before the channel is changed.
+ */
+@SuppressWarnings("unused")
+public class ChannelSlideBar extends AbstractSlider {
+
+  private static final int LUT_SIZE = 256;
+  private static final ColorChannels[] CHANNELS = ColorChannels.values();
+
+  private ColorChannel channel;
+  private final int[] lut = new int[LUT_SIZE];
+  private final Matrix lutMatrix = new Matrix();
+  private Bitmap lutBitmap;
+  private Shader lutShader;
+  private boolean isLutDirty = true;
+  @ColorInt private int lutColor;
+  private int lutWidth;
+  private int lutHeight;
+
+  public ChannelSlideBar(Context context) {
+    super(context);
+  }
+
+  public ChannelSlideBar(Context context, AttributeSet attrs) {
+    super(context, attrs);
+  }
+
+  public ChannelSlideBar(Context context, AttributeSet attrs, int defStyleAttr) {
+    super(context, attrs, defStyleAttr);
+  }
+
+  public ChannelSlideBar(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+    super(context, attrs, defStyleAttr, defStyleRes);
+  }
+
+  @Override
+  protected void getAttrs(AttributeSet attrs) {
+    TypedArray a = getContext().obtainStyledAttributes(attrs, R.styleable.ChannelSlideBar);
+    try {
+      if (a.hasValue(R.styleable.ChannelSlideBar_channel)) {
+        int channel = a.getInteger(R.styleable.ChannelSlideBar_channel, 0);
+        if (channel >= 0 && channel < CHANNELS.length) this.channel = CHANNELS[channel];
+      }
+    } finally {
+      a.recycle();
+    }
+  }
+
+  /**
+   * gets the {@link ColorChannel} of the slider.
+   *
+   * @return {@link ColorChannel}, {@link ColorChannels#HUE} by default.
+   */
+  public @NonNull ColorChannel getChannel() {
+    return channel != null ? channel : ColorChannels.HUE;
+  }
+
+  /**
+   * sets the {@link ColorChannel} of the slider.
+   *
+   * @param channel {@link ColorChannel}.
+   */
+  public void setChannel(@NonNull ColorChannel channel) {
+    this.channel = channel;
+    this.isLutDirty = true;
+    updatePaint(colorPaint);
+    invalidate();
+  }
+
+  @Override
+  protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+    super.onSizeChanged(width, height, oldWidth, oldHeight);
+    updatePaint(colorPaint);
+  }
+
+  @Override
+  protected void updatePaint(Paint colorPaint) {
+    int width = getMeasuredWidth();
+    int height = getMeasuredHeight();
+    if (width <= 0 || height <= 0) return;
+
+    ColorChannel channel = getChannel();
+    if (lutBitmap == null) {
+      lutBitmap = Bitmap.createBitmap(LUT_SIZE, 1, Bitmap.Config.ARGB_8888);
+      lutShader = new BitmapShader(lutBitmap, Shader.TileMode.CLAMP, Shader.TileMode.CLAMP);
+    }
+    if (isLutDirty || (channel.isColorDependent() && getColor() != lutColor)) {
+      for (int i = 0; i < LUT_SIZE; i++) {
+        lut[i] = channel.apply(getColor(), i / (float) (LUT_SIZE - 1));
+      }
+      lutBitmap.setPixels(lut, 0, LUT_SIZE, 0, 0, LUT_SIZE, 1);
+      lutColor = getColor();
+      isLutDirty = false;
+    }
+    if (width != lutWidth || height != lutHeight) {
+      lutMatrix.setScale(width / (float) LUT_SIZE, height);
+      lutShader.setLocalMatrix(lutMatrix);
+      lutWidth = width;
+      lutHeight = height;
+    }
+    if (colorPaint.getShader() != lutShader) {
+      colorPaint.setFilterBitmap(true);
+      colorPaint.setShader(lutShader);
+    }
+  }
+
+  @Override
+  public void onInflateFinished() {
+    int color = colorPickerView != null ? colorPickerView.getPureColor() : getColor();
+    setSelectorByHalfSelectorPosition(getChannel().positionOf(color));
+  }
+
+  @Override
+  public @ColorInt int applyTo(@ColorInt int color) {
+    return getChannel().apply(color, selectorPosition);
+  }
+
+  @Override
+  public long applyToState(long state) {
+    ColorChannel channel = getChannel();
+    if (channel == ColorChannels.HUE) {
+      return ColorState.withHue(state, selectorPosition * 360f);
+    } else if (channel == ColorChannels.SATURATION) {
+      return ColorState.withSaturation(state, selectorPosition);
+    } else if (channel == ColorChannels.VALUE) {
+      return ColorState.withValue(state, selectorPosition);
+    }
+    return super.applyToState(state);
+  }
+
+  @Override
+  public @ColorInt int assembleColor() {
+    return applyTo(getColor());
+  }
+}
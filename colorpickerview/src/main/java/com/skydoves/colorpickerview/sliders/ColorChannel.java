@@ -0,0 +1,54 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.sliders;
+
+import androidx.annotation.ColorInt;
+import androidx.annotation.FloatRange;
+
+/**
+ * ColorChannel defines a channel of a color which is changed by a {@link ChannelSlideBar}. The
+ * built-in channels are defined in {@link ColorChannels}.
+ */
+public interface ColorChannel {
+
+  /**
+   * applies a value of the channel to the color.
+   *
+   * @param color the color assembled before the channel.
+   * @param position the position of the slider between 0 and 1.
+   * @return the color which the channel value is applied to.
+   */
+  @ColorInt
+  int apply(@ColorInt int color, @FloatRange(from = 0.0, to = 1.0) float position);
+
+  /**
+   * gets the slider position of the channel value of the color.
+   *
+   * @param color the color.
+   * @return the position of the slider between 0 and 1.
+   */
+  @FloatRange(from = 0.0, to = 1.0)
+  float positionOf(@ColorInt int color);
+
+  /**
+   * gets whether the gradient of the channel depends on the color assembled before the channel.
+   * the gradient of an independent channel is built only once.
+   *
+   * @return true if the gradient is built from the color.
+   */
+  boolean isColorDependent();
+}
@@ -0,0 +1,203 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.sliders;
+
+import android.graphics.Color;
+import androidx.annotation.ColorInt;
+
+/**
+ * ColorChannels is the built-in {@link ColorChannel}s. Every channel keeps the alpha of the
+ * color.
+ */
+public enum ColorChannels implements ColorChannel {
+  /** hue of the HSV color model, from 0 to 360 degrees. */
+  HUE {
+    @Override
+    public int apply(int color, float position) {
+      return applyHsv(color, 0, position * 360f);
+    }
+
+    @Override
+    public float positionOf(int color) {
+      Color.colorToHSV(color, Scratch.hsv);
+      return Scratch.hsv[0] / 360f;
+    }
+  },
+
+  /** saturation of the HSV color model. */
+  SATURATION {
+    @Override
+    public int apply(int color, float position) {
+      return applyHsv(color, 1, position);
+    }
+
+    @Override
+    public float positionOf(int color) {
+      Color.colorToHSV(color, Scratch.hsv);
+      return Scratch.hsv[1];
+    }
+  },
+
+  /** value of the HSV color model. */
+  VALUE {
+    @Override
+    public int apply(int color, float position) {
+      return applyHsv(color, 2, position);
+    }
+
+    @Override
+    public float positionOf(int color) {
+      Color.colorToHSV(color, Scratch.hsv);
+      return Scratch.hsv[2];
+    }
+  },
+
+  /** red of the RGB color model. */
+  RED {
+    @Override
+    public int apply(int color, float position) {
+      return (color & 0xFF00FFFF) | (toByte(position) << 16);
+    }
+
+    @Override
+    public float positionOf(int color) {
+      return Color.red(color) / 255f;
+    }
+  },
+
+  /** green of the RGB color model. */
+  GREEN {
+    @Override
+    public int apply(int color, float position) {
+      return (color & 0xFFFF00FF) | (toByte(position) << 8);
+    }
+
+    @Override
+    public float positionOf(int color) {
+      return Color.green(color) / 255f;
+    }
+  },
+
+  /** blue of the RGB color model. */
+  BLUE {
+    @Override
+    public int apply(int color, float position) {
+      return (color & 0xFFFFFF00) | toByte(position);
+    }
+
+    @Override
+    public float positionOf(int color) {
+      return Color.blue(color) / 255f;
+    }
+  },
+
+  /**
+   * color temperature of a black body, from {@link #MIN_KELVIN} to {@link #MAX_KELVIN}. it
+   * replaces the RGB of the color.
+   */
+  KELVIN {
+    @Override
+    public int apply(int color, float position) {
+      float kelvin = MIN_KELVIN + (MAX_KELVIN - MIN_KELVIN) * position;
+      return (color & 0xFF000000) | (kelvinToColor(kelvin) & 0x00FFFFFF);
+    }
+
+    /** finds the temperature of the closest chromaticity by sampling the range. */
+    @Override
+    public float positionOf(int color) {
+      float red = Color.red(color);
+      float green = Color.green(color);
+      float blue = Color.blue(color);
+      float sum = Math.max(1f, red + green + blue);
+      float closestPosition = 0f;
+      float closestDistance = Float.MAX_VALUE;
+      for (int i = 0; i <= KELVIN_SAMPLES; i++) {
+        float position = i / (float) KELVIN_SAMPLES;
+        int sample = apply(color, position);
+        float sampleSum =
+            Math.max(1f, Color.red(sample) + Color.green(sample) + Color.blue(sample));
+        float dr = red / sum - Color.red(sample) / sampleSum;
+        float dg = green / sum - Color.green(sample) / sampleSum;
+        float db = blue / sum - Color.blue(sample) / sampleSum;
+        float distance = dr * dr + dg * dg + db * db;
+        if (distance < closestDistance) {
+          closestDistance = distance;
+          closestPosition = position;
+        }
+      }
+      return closestPosition;
+    }
+
+    @Override
+    public boolean isColorDependent() {
+      return false;
+    }
+  };
+
+  /** the lowest temperature of the {@link #KELVIN} channel. */
+  public static final float MIN_KELVIN = 1000f;
+
+  /** the highest temperature of the {@link #KELVIN} channel. */
+  public static final float MAX_KELVIN = 12000f;
+
+  private static final int KELVIN_SAMPLES = 256;
+
+  @Override
+  public boolean isColorDependent() {
+    return true;
+  }
+
+  /** holds the scratch buffer. the channels are used only on the main thread. */
+  private static class Scratch {
+    private static final float[] hsv = new float[3];
+  }
+
+  private static @ColorInt int applyHsv(@ColorInt int color, int index, float value) {
+    Color.colorToHSV(color, Scratch.hsv);
+    Scratch.hsv[index] = value;
+    return Color.HSVToColor(Color.alpha(color), Scratch.hsv);
+  }
+
+  private static int toByte(float position) {
+    return Math.max(0, Math.min(255, Math.round(position * 255)));
+  }
+
+  /**
+   * approximates the color of a black body by Tanner Helland's empirical curves, which are fitted
+   * to tabulated black body colors. it is an approximation for the UI, not a colorimetric model.
+   */
+  private static @ColorInt int kelvinToColor(float kelvin) {
+    double temperature = kelvin / 100.0;
+    double red;
+    double green;
+    double blue;
+    if (temperature <= 66) {
+      red = 255;
+      green = 99.4708025861 * Math.log(temperature) - 161.1195681661;
+      blue = temperature <= 19 ? 0 : 138.5177312231 * Math.log(temperature - 10) - 305.0447927307;
+    } else {
+      red = 329.698727446 * Math.pow(temperature - 60, -0.1332047592);
+      green = 288.1221695283 * Math.pow(temperature - 60, -0.0755148492);
+      blue = 255;
+    }
+    return Color.rgb(clampByte(red), clampByte(green), clampByte(blue));
+  }
+
+  private static int clampByte(double value) {
+    return (int) Math.max(0, Math.min(255, Math.round(value)));
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview.sliders;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import android.util.AttributeSet;
+import androidx.annotation.ColorInt;
+import com.skydoves.colorpickerview.ColorSvPalette;
+
+/**
+ * HueSlideBar extends {@link AbstractSlider} and more being specific to implement hue slide. It
+ * changes the hue of the {@link ColorSvPalette}, or moves the selector along the hue of the {@link
+ * com.skydoves.colorpickerview.ColorHsvPalette}. It has no effect on the other palettes.
+ */
+@SuppressWarnings("unused")
+public class HueSlideBar extends AbstractSlider {
+
+  private static final int[] HUE_COLORS = {
+    Color.RED, Color.YELLOW, Color.GREEN, Color.CYAN, Color.BLUE, Color.MAGENTA, Color.RED
+  };
+
+  private Shader hueShader;
+  private int hueShaderWidth;
+
+  public HueSlideBar(Context context) {
+    super(context);
+  }
+
+  public HueSlideBar(Context context, AttributeSet attrs) {
+    super(context, attrs);
+  }
+
+  public HueSlideBar(Context context, AttributeSet attrs, int defStyleAttr) {
+    super(context, attrs, defStyleAttr);
+  }
+
+  public HueSlideBar(Context context, AttributeSet attrs, int defStyleAttr, int defStyleRes) {
+    super(context, attrs, defStyleAttr, defStyleRes);
+  }
+
+  @Override
+  protected void getAttrs(AttributeSet attrs) {}
+
+  @Override
+  protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+    super.onSizeChanged(width, height, oldWidth, oldHeight);
+    updatePaint(colorPaint);
+  }
+
+  @Override
+  protected void updatePaint(Paint colorPaint) {
+    int width = getMeasuredWidth();
+    if (hueShader == null || hueShaderWidth != width) {
+      hueShader = new LinearGradient(0, 0, width, 0, HUE_COLORS, null, Shader.TileMode.CLAMP);
+      hueShaderWidth = width;
+    }
+    if (colorPaint.getShader() != hueShader) {
+      colorPaint.setShader(hueShader);
+    }
+  }
+
+  @Override
+  protected void onSelectorPositionChanged() {
+    if (colorPickerView != null) {
+      colorPickerView.notifyHueChanged(getHue());
+    }
+  }
+
+  @Override
+  public void onInflateFinished() {
+    float hue = 0f;
+    if (colorPickerView != null && colorPickerView.getPaletteDrawable() instanceof ColorSvPalette) {
+      hue = ((ColorSvPalette) colorPickerView.getPaletteDrawable()).getHue();
+    } else if (colorPickerView != null && colorPickerView.isHuePalette()) {
+      Color.colorToHSV(colorPickerView.getPureColor(), hsv);
+      hue = hsv[0];
+    }
+    setSelectorByHalfSelectorPosition(hue / 360f);
+  }
+
+  /**
+   * gets the selected hue.
+   *
+   * @return hue between 0 and 360.
+   */
+  public float getHue() {
+    return Math.max(0f, Math.min(360f, selectorPosition * 360f));
+  }
+
+  /**
+   * moves the selector by a hue without notifies.
+   *
+   * @param hue hue between 0 and 360.
+   */
+  public void setHue(float hue) {
+    setSelectorByHalfSelectorPosition(Math.max(0f, Math.min(1f, hue / 360f)));
+  }
+
+  @Override
+  public @ColorInt int assembleColor() {
+    if (colorPickerView != null) {
+      return colorPickerView.getPureColor();
+    }
+    Color.colorToHSV(getColor(), hsv);
+    hsv[0] = getHue();
+    return Color.HSVToColor(hsv);
+  }
+}
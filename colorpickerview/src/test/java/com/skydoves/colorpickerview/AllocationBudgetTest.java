@@ -0,0 +1,120 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.view.MotionEvent;
+import android.view.View;
+import com.skydoves.colorpickerview.listeners.ColorEnvelopeListener;
+import com.skydoves.colorpickerview.listeners.ColorListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * AllocationBudgetTest drives the {@link ColorPickerView} and the sliders with synthetic drags,
+ * and fails when the average allocation per event exceeds the budget.
+ *
+ * <p>The pickers use the {@link ActionMode#THROTTLE} without an interval, which invokes the color
+ * listener synchronously on every change, so nothing is posted on the main looper and the
+ * measured bytes come from the library's touch and dispatch paths.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class AllocationBudgetTest {
+
+  /** the average bytes a touch event may allocate, for the rare allocations of the platform. */
+  private static final long TOUCH_BUDGET_BYTES = 16;
+
+  /** a dispatch allocates the {@link ColorEnvelope} and its hex code is cached. */
+  private static final long ENVELOPE_DISPATCH_BUDGET_BYTES = 64;
+
+  private static final int MOVE_COUNT = 1000;
+
+  @Before
+  public void setUp() {
+    Allocations.assumeSupported();
+  }
+
+  @Test
+  public void paletteDragStaysInBudget() {
+    ColorPickerFixture fixture = newFixture(false, false);
+    int[] dispatchCount = new int[1];
+    fixture.colorPickerView.setColorListener(
+        (ColorListener) (color, fromUser) -> dispatchCount[0]++);
+    MotionEvent[] drag = ColorPickerFixture.drag(50, 450, 250, 100, MOVE_COUNT);
+
+    assertInBudget(fixture.colorPickerView, drag, TOUCH_BUDGET_BYTES);
+    assertTrue(dispatchCount[0] >= 2 * MOVE_COUNT);
+  }
+
+  @Test
+  public void alphaSliderDragStaysInBudget() {
+    ColorPickerFixture fixture = newFixture(true, false);
+    fixture.colorPickerView.setColorListener((ColorListener) (color, fromUser) -> {});
+    MotionEvent[] drag = sliderDrag();
+
+    assertInBudget(fixture.alphaSlideBar, drag, TOUCH_BUDGET_BYTES);
+  }
+
+  @Test
+  public void brightnessSliderDragStaysInBudget() {
+    ColorPickerFixture fixture = newFixture(false, true);
+    fixture.colorPickerView.setColorListener((ColorListener) (color, fromUser) -> {});
+    MotionEvent[] drag = sliderDrag();
+
+    assertInBudget(fixture.brightnessSlideBar, drag, TOUCH_BUDGET_BYTES);
+  }
+
+  @Test
+  public void envelopeDispatchStaysInBudget() {
+    ColorPickerFixture fixture = newFixture(false, false);
+    fixture.colorPickerView.setColorListener(
+        (ColorEnvelopeListener)
+            (envelope, fromUser) -> assertEquals(8, envelope.getHexCode().length()));
+    MotionEvent[] drag = ColorPickerFixture.drag(50, 450, 250, 50, MOVE_COUNT);
+
+    assertInBudget(fixture.colorPickerView, drag, ENVELOPE_DISPATCH_BUDGET_BYTES);
+  }
+
+  private static ColorPickerFixture newFixture(boolean alphaSlider, boolean brightnessSlider) {
+    ColorPickerFixture fixture = new ColorPickerFixture(alphaSlider, brightnessSlider);
+    fixture.colorPickerView.setActionMode(ActionMode.THROTTLE);
+    fixture.colorPickerView.setDebounceDuration(0);
+    fixture.colorPickerView.setPaletteLayerPolicy(PaletteLayerPolicy.NONE);
+    return fixture;
+  }
+
+  private static MotionEvent[] sliderDrag() {
+    float y = ColorPickerFixture.SLIDER_HEIGHT / 2f;
+    return ColorPickerFixture.drag(0, ColorPickerFixture.PICKER_SIZE, y, 100, MOVE_COUNT);
+  }
+
+  /** replays the drag once for warming up, and measures the second replay. */
+  private static void assertInBudget(View target, MotionEvent[] drag, long budgetBytes) {
+    ColorPickerFixture.dispatch(target, drag);
+    long allocated = Allocations.measure(() -> ColorPickerFixture.dispatch(target, drag));
+    long bytesPerEvent = allocated / drag.length;
+    assertTrue(
+        "allocated " + bytesPerEvent + " bytes per event over the budget " + budgetBytes,
+        bytesPerEvent <= budgetBytes);
+  }
+}
@@ -0,0 +1,49 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import org.junit.Assume;
+
+/** Allocations measures the bytes allocated by the current thread. */
+final class Allocations {
+
+  private static final ThreadMXBean threadBean =
+      (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private Allocations() {}
+
+  /** skips the test if the JVM can't measure the allocations of a thread. */
+  static void assumeSupported() {
+    Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  /**
+   * measures the bytes allocated by the current thread while running the block.
+   *
+   * @param block the measured block.
+   * @return allocated bytes.
+   */
+  static long measure(Runnable block) {
+    long threadId = Thread.currentThread().getId();
+    long start = threadBean.getThreadAllocatedBytes(threadId);
+    block.run();
+    return threadBean.getThreadAllocatedBytes(threadId) - start;
+  }
+}
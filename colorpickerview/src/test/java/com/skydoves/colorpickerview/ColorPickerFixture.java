@@ -0,0 +1,116 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import android.widget.LinearLayout;
+import com.skydoves.colorpickerview.sliders.AlphaSlideBar;
+import com.skydoves.colorpickerview.sliders.BrightnessSlideBar;
+import org.robolectric.Robolectric;
+import org.robolectric.android.controller.ActivityController;
+
+/** ColorPickerFixture lays out a {@link ColorPickerView} and its sliders on an activity. */
+final class ColorPickerFixture {
+
+  static final int PICKER_SIZE = 500;
+  static final int SLIDER_HEIGHT = 40;
+
+  final ColorPickerView colorPickerView;
+  final AlphaSlideBar alphaSlideBar;
+  final BrightnessSlideBar brightnessSlideBar;
+
+  /**
+   * creates a laid out {@link ColorPickerView} whose startup has been completed.
+   *
+   * @param attachAlphaSlider attaches an {@link AlphaSlideBar} or not.
+   * @param attachBrightnessSlider attaches a {@link BrightnessSlideBar} or not.
+   */
+  ColorPickerFixture(boolean attachAlphaSlider, boolean attachBrightnessSlider) {
+    ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class).create();
+    Activity activity = controller.get();
+    LinearLayout container = new LinearLayout(activity);
+    container.setOrientation(LinearLayout.VERTICAL);
+    colorPickerView = new ColorPickerView.Builder(activity).build();
+    container.addView(colorPickerView, new LinearLayout.LayoutParams(PICKER_SIZE, PICKER_SIZE));
+    alphaSlideBar = attachAlphaSlider ? new AlphaSlideBar(activity) : null;
+    if (alphaSlideBar != null) {
+      container.addView(alphaSlideBar, new LinearLayout.LayoutParams(PICKER_SIZE, SLIDER_HEIGHT));
+      colorPickerView.attachAlphaSlider(alphaSlideBar);
+    }
+    brightnessSlideBar = attachBrightnessSlider ? new BrightnessSlideBar(activity) : null;
+    if (brightnessSlideBar != null) {
+      container.addView(
+          brightnessSlideBar, new LinearLayout.LayoutParams(PICKER_SIZE, SLIDER_HEIGHT));
+      colorPickerView.attachBrightnessSlider(brightnessSlideBar);
+    }
+    activity.setContentView(container);
+    controller.start().resume().visible();
+    idle();
+  }
+
+  /** runs the messages posted on the main looper. */
+  static void idle() {
+    shadowOf(Looper.getMainLooper()).idle();
+  }
+
+  /**
+   * creates a drag along a horizontal line. the moves go back and forth over the distinct
+   * positions between the start and the end.
+   *
+   * @param startX coordinate x of the start.
+   * @param endX coordinate x of the end.
+   * @param y coordinate y of the line.
+   * @param positions the number of the distinct positions, at least 2.
+   * @param moveCount the number of the moves.
+   * @return the down, the moves and the up.
+   */
+  static MotionEvent[] drag(float startX, float endX, float y, int positions, int moveCount) {
+    MotionEvent[] events = new MotionEvent[moveCount + 2];
+    long downTime = SystemClock.uptimeMillis();
+    events[0] = MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, startX, y, 0);
+    float x = startX;
+    int period = 2 * positions - 2;
+    for (int i = 0; i < moveCount; i++) {
+      int step = (i + 1) % period;
+      int index = step < positions ? step : period - step;
+      x = startX + (endX - startX) * index / (positions - 1);
+      long eventTime = downTime + 8L * (i + 1);
+      events[i + 1] = MotionEvent.obtain(downTime, eventTime, MotionEvent.ACTION_MOVE, x, y, 0);
+    }
+    long upTime = downTime + 8L * (moveCount + 1);
+    events[moveCount + 1] = MotionEvent.obtain(downTime, upTime, MotionEvent.ACTION_UP, x, y, 0);
+    return events;
+  }
+
+  /**
+   * dispatches the events to the view.
+   *
+   * @param view the target view.
+   * @param events the dispatched events.
+   */
+  static void dispatch(View view, MotionEvent[] events) {
+    for (MotionEvent event : events) {
+      view.dispatchTouchEvent(event);
+    }
+  }
+}
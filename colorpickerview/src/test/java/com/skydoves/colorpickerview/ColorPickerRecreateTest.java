@@ -0,0 +1,132 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+
+import android.os.Bundle;
+import android.widget.LinearLayout;
+import androidx.activity.ComponentActivity;
+import com.skydoves.colorpickerview.preference.ColorPickerPreferenceManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * ColorPickerRecreateTest checks that the selected color survives the recreation of the activity,
+ * from the saved instance state if the {@link ColorPickerView} has an id and from the preference
+ * otherwise.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class ColorPickerRecreateTest {
+
+  private static final int PICKER_ID = 1;
+  private static final String WITH_ID_PREFERENCE = "ColorPickerRecreateTest.withId";
+  private static final String WITHOUT_ID_PREFERENCE = "ColorPickerRecreateTest.withoutId";
+
+  private ActivityController<PickerActivity> controller;
+
+  @Before
+  public void setUp() {
+    controller = Robolectric.buildActivity(PickerActivity.class).setup();
+    ColorPickerPreferenceManager.getInstance(controller.get()).clearSavedAllData();
+    ColorPickerFixture.idle();
+  }
+
+  @Test
+  public void pickerWithIdIsRestoredFromTheSavedState() {
+    controller.get().withId.selectByColor(0xFFFF0000);
+    int color = controller.get().withId.getColor();
+
+    controller.recreate();
+    ColorPickerFixture.idle();
+
+    assertEquals(color, controller.get().withId.getColor());
+    assertEquals(
+        -1,
+        ColorPickerPreferenceManager.getInstance(controller.get())
+            .getColor(WITH_ID_PREFERENCE, -1));
+  }
+
+  @Test
+  public void pickerWithoutIdIsRestoredFromThePreference() {
+    controller.get().withoutId.selectByColor(0xFF0000FF);
+    int color = controller.get().withoutId.getColor();
+
+    controller.recreate();
+    ColorPickerFixture.idle();
+
+    assertEquals(color, controller.get().withoutId.getColor());
+    assertEquals(
+        color,
+        ColorPickerPreferenceManager.getInstance(controller.get())
+            .getColor(WITHOUT_ID_PREFERENCE, -1));
+  }
+
+  @Test
+  public void pickerWhichDoesNotSaveItsStateIsRestoredFromThePreference() {
+    controller.get().withId.setSaveEnabled(false);
+    controller.get().withId.selectByColor(0xFF00FF00);
+    int color = controller.get().withId.getColor();
+
+    controller.recreate();
+    ColorPickerFixture.idle();
+
+    assertEquals(color, controller.get().withId.getColor());
+    assertEquals(
+        color,
+        ColorPickerPreferenceManager.getInstance(controller.get())
+            .getColor(WITH_ID_PREFERENCE, -1));
+  }
+
+  /** PickerActivity lays out a {@link ColorPickerView} with an id and another without an id. */
+  public static class PickerActivity extends ComponentActivity {
+
+    ColorPickerView withId;
+    ColorPickerView withoutId;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+      super.onCreate(savedInstanceState);
+      LinearLayout container = new LinearLayout(this);
+      container.setOrientation(LinearLayout.VERTICAL);
+      withId = newColorPickerView(WITH_ID_PREFERENCE);
+      withId.setId(PICKER_ID);
+      withoutId = newColorPickerView(WITHOUT_ID_PREFERENCE);
+      container.addView(withId, newLayoutParams());
+      container.addView(withoutId, newLayoutParams());
+      setContentView(container);
+    }
+
+    private ColorPickerView newColorPickerView(String preferenceName) {
+      return new ColorPickerView.Builder(this)
+          .setPreferenceName(preferenceName)
+          .setLifecycleOwner(this)
+          .build();
+    }
+
+    private static LinearLayout.LayoutParams newLayoutParams() {
+      return new LinearLayout.LayoutParams(
+          ColorPickerFixture.PICKER_SIZE, ColorPickerFixture.PICKER_SIZE);
+    }
+  }
+}
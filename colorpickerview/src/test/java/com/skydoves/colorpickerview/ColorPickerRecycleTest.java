@@ -0,0 +1,174 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.app.Activity;
+import android.graphics.Point;
+import android.widget.FrameLayout;
+import com.skydoves.colorpickerview.flag.BubbleFlag;
+import com.skydoves.colorpickerview.flag.FlagView;
+import com.skydoves.colorpickerview.listeners.ColorListener;
+import com.skydoves.colorpickerview.preference.ColorPickerPreferenceManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.android.controller.ActivityController;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * ColorPickerRecycleTest checks that a reused {@link ColorPickerView} is rebound to the persisted
+ * or the given color without invoking the color listener, and keeps a single flag.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class ColorPickerRecycleTest {
+
+  private static final String PREFERENCE_NAME = "ColorPickerRecycleTest";
+  private static final int COLOR = 0xFF00FF00;
+  private static final int PERSISTED_COLOR = 0xFF0000FF;
+
+  private final List<Boolean> dispatches = new ArrayList<>();
+  private final List<Integer> dispatchedColors = new ArrayList<>();
+  private ColorPickerView colorPickerView;
+
+  @Before
+  public void setUp() {
+    colorPickerView = new ColorPickerFixture(false, false).colorPickerView;
+    ColorPickerPreferenceManager.getInstance(colorPickerView.getContext()).clearSavedAllData();
+  }
+
+  @Test
+  public void rebindAfterLayoutSelectsTheColorSilently() {
+    colorPickerView.setColorListener(recordingListener());
+
+    colorPickerView.rebind(null, COLOR);
+
+    assertTrue(dispatches.isEmpty());
+    assertEquals(COLOR, colorPickerView.getColor());
+    assertSelectedPointOf(COLOR, colorPickerView);
+  }
+
+  @Test
+  public void rebindAfterLayoutRestoresThePersistedColorSilently() {
+    ColorPickerPreferenceManager.getInstance(colorPickerView.getContext())
+        .setColor(PREFERENCE_NAME, PERSISTED_COLOR);
+    colorPickerView.setColorListener(recordingListener());
+
+    colorPickerView.rebind(PREFERENCE_NAME, COLOR);
+
+    assertTrue(dispatches.isEmpty());
+    assertEquals(PERSISTED_COLOR, colorPickerView.getColor());
+    assertEquals(PREFERENCE_NAME, colorPickerView.getPreferenceName());
+    assertSelectedPointOf(PERSISTED_COLOR, colorPickerView);
+  }
+
+  @Test
+  public void rebindBeforeLayoutSelectsTheColorOnce() {
+    ActivityController<Activity> controller = Robolectric.buildActivity(Activity.class).create();
+    Activity activity = controller.get();
+    ColorPickerPreferenceManager.getInstance(activity).setColor(PREFERENCE_NAME, PERSISTED_COLOR);
+    ColorPickerView deferred = new ColorPickerView.Builder(activity).build();
+    deferred.setColorListener(recordingListener());
+
+    deferred.rebind(PREFERENCE_NAME, COLOR);
+    FrameLayout container = new FrameLayout(activity);
+    container.addView(
+        deferred,
+        new FrameLayout.LayoutParams(
+            ColorPickerFixture.PICKER_SIZE, ColorPickerFixture.PICKER_SIZE));
+    activity.setContentView(container);
+    controller.start().resume().visible();
+    ColorPickerFixture.idle();
+
+    assertTrue(dispatches.size() <= 1);
+    for (int i = 0; i < dispatches.size(); i++) {
+      assertFalse(dispatches.get(i));
+      assertEquals(PERSISTED_COLOR, (int) dispatchedColors.get(i));
+    }
+    assertEquals(PERSISTED_COLOR, deferred.getColor());
+    assertSelectedPointOf(PERSISTED_COLOR, deferred);
+  }
+
+  @Test
+  public void resetSelectsTheCenterSilently() {
+    colorPickerView.rebind(PREFERENCE_NAME, COLOR);
+    colorPickerView.setColorListener(recordingListener());
+
+    colorPickerView.reset();
+
+    assertTrue(dispatches.isEmpty());
+    assertNull(colorPickerView.getPreferenceName());
+    assertEquals(ColorPickerFixture.PICKER_SIZE / 2f, colorPickerView.getSelectedPoint().x, 1);
+    assertEquals(ColorPickerFixture.PICKER_SIZE / 2f, colorPickerView.getSelectedPoint().y, 1);
+  }
+
+  @Test
+  public void setFlagViewReplacesTheFlag() {
+    colorPickerView.setFlagView(new BubbleFlag(colorPickerView.getContext()));
+    BubbleFlag flag = new BubbleFlag(colorPickerView.getContext());
+    colorPickerView.setFlagView(flag);
+
+    assertEquals(1, countFlags());
+    assertSame(flag, colorPickerView.getFlagView());
+  }
+
+  @Test
+  public void resetRemovesTheFlag() {
+    colorPickerView.setFlagView(new BubbleFlag(colorPickerView.getContext()));
+
+    colorPickerView.reset();
+    assertNull(colorPickerView.getFlagView());
+    assertEquals(0, countFlags());
+
+    colorPickerView.setFlagView(new BubbleFlag(colorPickerView.getContext()));
+    assertEquals(1, countFlags());
+  }
+
+  private ColorListener recordingListener() {
+    return (color, fromUser) -> {
+      dispatches.add(fromUser);
+      dispatchedColors.add(color);
+    };
+  }
+
+  /** compares the selected point with the point selected by another picker for the color. */
+  private static void assertSelectedPointOf(int color, ColorPickerView rebound) {
+    ColorPickerView expected = new ColorPickerFixture(false, false).colorPickerView;
+    expected.selectByColor(color);
+    Point point = rebound.getSelectedPoint();
+    assertEquals(expected.getSelectedPoint().x, point.x, 1);
+    assertEquals(expected.getSelectedPoint().y, point.y, 1);
+  }
+
+  private int countFlags() {
+    int count = 0;
+    for (int i = 0; i < colorPickerView.getChildCount(); i++) {
+      if (colorPickerView.getChildAt(i) instanceof FlagView) count++;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Color;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.ViewGroup;
+import com.skydoves.colorpickerview.core.ColorState;
+import com.skydoves.colorpickerview.sliders.AlphaSlideBar;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * ColorPickerSnapshotTest checks that the {@link ColorPickerView} publishes the assembled color
+ * once per change.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class ColorPickerSnapshotTest {
+
+  private ColorPickerFixture fixture;
+  private ColorPickerView colorPickerView;
+
+  @Before
+  public void setUp() {
+    fixture = new ColorPickerFixture(true, false);
+    colorPickerView = fixture.colorPickerView;
+    colorPickerView.setActionMode(ActionMode.ALWAYS);
+    colorPickerView.setDebounceDuration(1000);
+    float y = ColorPickerFixture.SLIDER_HEIGHT / 2f;
+    ColorPickerFixture.dispatch(
+        fixture.alphaSlideBar,
+        ColorPickerFixture.drag(0, ColorPickerFixture.PICKER_SIZE / 2f, y, 2, 1));
+    ColorPickerFixture.idle();
+  }
+
+  @Test
+  public void touchPublishesTheAssembledColorBeforeDispatching() {
+    long version = colorPickerView.getSnapshotVersion();
+    long downTime = SystemClock.uptimeMillis();
+    colorPickerView.dispatchTouchEvent(
+        MotionEvent.obtain(downTime, downTime, MotionEvent.ACTION_DOWN, 200, 250, 0));
+
+    ColorPickerSnapshot snapshot = colorPickerView.snapshot();
+    assertEquals(version + 1, snapshot.getVersion());
+    assertEquals(colorPickerView.getColor(), snapshot.getColor());
+    assertTrue(Color.alpha(snapshot.getColor()) < 255);
+  }
+
+  @Test
+  public void alphaIsRoundedTheSameOnEveryPath() {
+    AlphaSlideBar alphaSlideBar = fixture.alphaSlideBar;
+    int expected = ColorState.toAlphaByte(alphaSlideBar.getSelectorPosition());
+
+    assertEquals(expected, Color.alpha(colorPickerView.getColor()));
+    assertEquals(expected, Color.alpha(alphaSlideBar.assembleColor()));
+    assertEquals(expected, Color.alpha(alphaSlideBar.applyTo(Color.RED)));
+    assertEquals(expected, Color.alpha(colorPickerView.snapshot().getColor()));
+  }
+
+  @Test
+  public void unchangedStateKeepsTheVersion() {
+    ColorPickerFixture.dispatch(colorPickerView, ColorPickerFixture.drag(200, 300, 250, 2, 1));
+    ColorPickerFixture.idle();
+    long version = colorPickerView.getSnapshotVersion();
+
+    colorPickerView.fireColorListener(colorPickerView.getPureColor(), false);
+    colorPickerView.setPureColor(colorPickerView.getPureColor());
+
+    assertEquals(version, colorPickerView.getSnapshotVersion());
+  }
+
+  @Test
+  public void detachingCancelsTheStreams() {
+    ColorStream stream = colorPickerView.colorStream(Runnable::run, snapshot -> {});
+    ColorStream polling = colorPickerView.colorStream();
+
+    ((ViewGroup) colorPickerView.getParent()).removeView(colorPickerView);
+
+    assertTrue(stream.isCancelled());
+    assertTrue(polling.isCancelled());
+    assertFalse(polling.poll(new ColorPickerSnapshot()));
+  }
+}
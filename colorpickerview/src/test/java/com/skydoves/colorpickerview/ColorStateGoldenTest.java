@@ -0,0 +1,73 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+
+import android.graphics.Color;
+import com.skydoves.colorpickerview.core.ColorState;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * ColorStateGoldenTest compares the {@link ColorState} conversions with the native conversions of
+ * {@link Color}, which are the golden values of the HSV model.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class ColorStateGoldenTest {
+
+  @Test
+  public void hsvToColorMatchesTheFramework() {
+    float[] hsv = new float[3];
+    for (int hueStep = -2; hueStep <= 724; hueStep++) {
+      for (int saturationStep = 0; saturationStep <= 20; saturationStep++) {
+        for (int valueStep = 0; valueStep <= 20; valueStep++) {
+          hsv[0] = hueStep * 0.5f;
+          hsv[1] = saturationStep / 20f;
+          hsv[2] = valueStep / 20f;
+          int expected = Color.HSVToColor(0xC0, hsv);
+          int actual = ColorState.hsvToColor(0xC0, hsv[0], hsv[1], hsv[2]);
+          if (expected != actual) {
+            assertEquals(
+                hsv[0] + ", " + hsv[1] + ", " + hsv[2],
+                Integer.toHexString(expected),
+                Integer.toHexString(actual));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void colorToHsvMatchesTheFramework() {
+    float[] expected = new float[3];
+    float[] actual = new float[3];
+    for (int rgb = 0; rgb <= 0xFFFFFF; rgb += 31) {
+      int color = 0xFF000000 | rgb;
+      Color.colorToHSV(color, expected);
+      ColorState.colorToHsv(color, actual);
+      for (int i = 0; i < 3; i++) {
+        if (expected[i] != actual[i]) {
+          assertEquals(Integer.toHexString(color), expected[i], actual[i], 0f);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Color;
+import android.graphics.PointF;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+/** PointMapperTest checks that mapping coordinates to the palette and back doesn't allocate. */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class PointMapperTest {
+
+  private static final int ITERATIONS = 10000;
+
+  private ColorPickerFixture fixture;
+
+  @Before
+  public void setUp() {
+    Allocations.assumeSupported();
+    fixture = new ColorPickerFixture(false, false);
+  }
+
+  @Test
+  public void mappingDoesNotAllocate() {
+    ColorPickerView colorPickerView = fixture.colorPickerView;
+    PointF point = new PointF();
+    Runnable mapping =
+        () -> {
+          for (int i = 0; i < ITERATIONS; i++) {
+            point.set(i % ColorPickerFixture.PICKER_SIZE, (i * 7) % ColorPickerFixture.PICKER_SIZE);
+            PointMapper.mapToPalette(colorPickerView, point);
+            PointMapper.mapFromPalette(colorPickerView, point);
+            PointMapper.clampToPalette(colorPickerView, point);
+          }
+        };
+    mapping.run();
+
+    assertEquals(0, Allocations.measure(mapping));
+  }
+
+  @Test
+  public void selectByHsvColorDoesNotAllocate() {
+    ColorPickerView colorPickerView = fixture.colorPickerView;
+    int[] colors = new int[360];
+    for (int hue = 0; hue < colors.length; hue++) {
+      colors[hue] = Color.HSVToColor(new float[] {hue, 1f, 1f});
+    }
+    Runnable selection =
+        () -> {
+          for (int i = 0; i < ITERATIONS; i++) {
+            colorPickerView.selectByColor(colors[i % colors.length]);
+          }
+        };
+    selection.run();
+
+    long bytesPerSelection = Allocations.measure(selection) / ITERATIONS;
+    assertTrue("allocated " + bytesPerSelection + " bytes per selection", bytesPerSelection <= 16);
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+/** RegionDecoderPaletteTest checks that recycling drops the pending tile decodes safely. */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class RegionDecoderPaletteTest {
+
+  private static final int IMAGE_SIZE = 4 * RegionDecoderPalette.TILE_SIZE;
+
+  private final AtomicReference<Throwable> uncaught = new AtomicReference<>();
+  private Thread.UncaughtExceptionHandler defaultHandler;
+
+  @Before
+  public void setUp() {
+    defaultHandler = Thread.getDefaultUncaughtExceptionHandler();
+    Thread.setDefaultUncaughtExceptionHandler((thread, throwable) -> uncaught.set(throwable));
+  }
+
+  @After
+  public void tearDown() {
+    Thread.setDefaultUncaughtExceptionHandler(defaultHandler);
+  }
+
+  @Test
+  public void recycleDropsThePendingDecodes() throws Exception {
+    RegionDecoderPalette palette = newPalette();
+    palette.setBounds(0, 0, IMAGE_SIZE, IMAGE_SIZE);
+    CountDownLatch gate = new CountDownLatch(1);
+    BackgroundExecutor.get().execute(() -> awaitQuietly(gate));
+
+    for (int i = 0; i < 4; i++) {
+      float position = (i + 0.5f) * RegionDecoderPalette.TILE_SIZE;
+      assertEquals(Color.RED, palette.colorAt(position, position));
+    }
+    palette.recycle();
+    gate.countDown();
+    drainBackgroundExecutor();
+    ColorPickerFixture.idle();
+
+    assertNull(uncaught.get());
+    assertEquals(Color.RED, palette.colorAt(10f, 10f));
+    palette.draw(new Canvas(Bitmap.createBitmap(IMAGE_SIZE, IMAGE_SIZE, Bitmap.Config.ARGB_8888)));
+    drainBackgroundExecutor();
+    ColorPickerFixture.idle();
+    assertNull(uncaught.get());
+  }
+
+  private static RegionDecoderPalette newPalette() throws IOException {
+    Bitmap image = Bitmap.createBitmap(IMAGE_SIZE, IMAGE_SIZE, Bitmap.Config.ARGB_8888);
+    image.eraseColor(Color.RED);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    image.compress(Bitmap.CompressFormat.PNG, 100, out);
+    return RegionDecoderPalette.decode(new ByteArrayInputStream(out.toByteArray()));
+  }
+
+  /** waits until the works queued on the background executor have run. */
+  private static void drainBackgroundExecutor() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(1);
+    BackgroundExecutor.get().execute(done::countDown);
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Looper;
+import com.skydoves.colorpickerview.core.TouchTrace;
+import com.skydoves.colorpickerview.listeners.ColorListener;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * TouchTraceReplayerTest replays the reference traces on the {@link ColorPickerFixture} and checks
+ * the dispatches and the final state of each trace. The throughput and the allocations of a trace
+ * are described in the assertion messages.
+ *
+ * <p>The reference traces in the {@code traces} resources are generated by the {@link
+ * com.skydoves.colorpickerview.core.TouchTraces} for the fixture: a fast circular drag of four
+ * turns on the palette, six passes scrubbing the brightness slider and a hundred taps on the
+ * palette.
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+public class TouchTraceReplayerTest {
+
+  private static final String[] REFERENCE_TRACES = {
+    "circular_drag.trace", "slider_scrub.trace", "tap_storm.trace"
+  };
+
+  private int lastColor;
+
+  @Test
+  public void replaysReferenceTracesImmediately() throws IOException {
+    for (String name : REFERENCE_TRACES) {
+      ColorPickerFixture fixture = newFixture(ActionMode.ALWAYS, 0);
+      TouchTrace trace = loadTrace(name);
+
+      TouchTraceReplayer.Result result =
+          new TouchTraceReplayer(fixture.colorPickerView).replayImmediately(trace);
+
+      assertEquals(report(name, result), trace.size(), result.getEventCount());
+      assertTrue(report(name, result), result.getDispatchCount() > 0);
+      assertFinalState(fixture.colorPickerView, result);
+      assertNull(fixture.colorPickerView.getMetrics());
+    }
+  }
+
+  @Test
+  public void flushesTheDebouncedDispatchBeforeReporting() throws IOException {
+    ColorPickerFixture fixture = newFixture(ActionMode.ALWAYS, 50);
+    TouchTrace trace = loadTrace("circular_drag.trace");
+
+    TouchTraceReplayer.Result result =
+        new TouchTraceReplayer(fixture.colorPickerView).replayImmediately(trace);
+
+    assertTrue(result.getDispatchCount() > 0);
+    assertTrue(result.getCoalescedCount() > 0);
+    assertFalse(fixture.colorPickerView.hasPendingDispatch());
+    assertFinalState(fixture.colorPickerView, result);
+  }
+
+  @Test
+  public void replaysAtTheRecordedTiming() throws IOException {
+    ColorPickerFixture fixture = newFixture(ActionMode.ALWAYS, 50);
+    TouchTrace trace = loadTrace("slider_scrub.trace");
+    TouchTraceReplayer replayer = new TouchTraceReplayer(fixture.colorPickerView);
+    TouchTraceReplayer.Result[] results = new TouchTraceReplayer.Result[1];
+
+    replayer.replay(trace, result -> results[0] = result);
+    assertTrue(replayer.isReplaying());
+    shadowOf(Looper.getMainLooper()).idleFor(trace.getDurationMillis(), TimeUnit.MILLISECONDS);
+    shadowOf(Looper.getMainLooper()).idleFor(100, TimeUnit.MILLISECONDS);
+
+    assertFalse(replayer.isReplaying());
+    assertNotNull(results[0]);
+    assertEquals(trace.size(), results[0].getEventCount());
+    assertTrue(results[0].getDispatchCount() > 0);
+    assertFinalState(fixture.colorPickerView, results[0]);
+  }
+
+  @Test
+  public void reportsAllocations() throws IOException {
+    Allocations.assumeSupported();
+    ColorPickerFixture fixture = newFixture(ActionMode.ALWAYS, 0);
+
+    TouchTraceReplayer.Result result =
+        new TouchTraceReplayer(fixture.colorPickerView)
+            .replayImmediately(loadTrace("tap_storm.trace"));
+
+    assertTrue(result.getAllocatedBytes() >= 0);
+    assertTrue(result.getAllocatedBytesPerEvent() >= 0);
+  }
+
+  private ColorPickerFixture newFixture(ActionMode actionMode, long debounceDuration) {
+    ColorPickerFixture fixture = new ColorPickerFixture(true, true);
+    fixture.colorPickerView.setActionMode(actionMode);
+    fixture.colorPickerView.setDebounceDuration(debounceDuration);
+    fixture.colorPickerView.setColorListener(
+        (ColorListener) (color, fromUser) -> lastColor = color);
+    return fixture;
+  }
+
+  private void assertFinalState(ColorPickerView colorPickerView, TouchTraceReplayer.Result result) {
+    assertEquals(colorPickerView.getColor(), result.getFinalState().getColor());
+    assertEquals(lastColor, result.getFinalState().getColor());
+  }
+
+  private static TouchTrace loadTrace(String name) throws IOException {
+    try (InputStream inputStream =
+        TouchTraceReplayerTest.class.getResourceAsStream("traces/" + name)) {
+      assertNotNull(name, inputStream);
+      return TouchTrace.readFrom(inputStream);
+    }
+  }
+
+  /** describes the replayed trace for the assertion messages. */
+  private static String report(String name, TouchTraceReplayer.Result result) {
+    return String.format(
+        Locale.US,
+        "%s: %d events, %.0f events/s, %d dispatches, %d coalesced, %.1f bytes/event",
+        name,
+        result.getEventCount(),
+        result.getEventsPerSecond(),
+        result.getDispatchCount(),
+        result.getCoalescedCount(),
+        result.getAllocatedBytesPerEvent());
+  }
+}
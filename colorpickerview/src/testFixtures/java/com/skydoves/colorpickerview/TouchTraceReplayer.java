@@ -0,0 +1,305 @@
+/*
+ * Designed and developed by 2017 skydoves (Jaewoong Eum)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.skydoves.colorpickerview;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import com.skydoves.colorpickerview.core.TouchTrace;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * TouchTraceReplayer replays a {@link TouchTrace} on a {@link ColorPickerView} and its attached
+ * sliders, and reports the throughput, the listener dispatches, the allocations and the final
+ * state as a {@link Result}.
+ *
+ * <p>A trace can be replayed at the recorded timing or as fast as possible. The events of the
+ * targets which are not attached are skipped. The dispatches are counted by the {@link
+ * ColorPickerMetrics} of the {@link ColorPickerView}, and a temporary one is set while replaying if
+ * nothing is set. A color change waiting for the debounce or the throttle is dispatched before the
+ * result is reported, immediately on the fast replay and at its scheduled time on the timed replay.
+ *
+ * <p>The replayer is a test fixture of the library and it is not shipped with the library.
+ */
+public class TouchTraceReplayer {
+
+  /** OnReplayFinishedListener is called when a trace has been replayed at the recorded timing. */
+  public interface OnReplayFinishedListener {
+    void onReplayFinished(@NonNull Result result);
+  }
+
+  private final ColorPickerView colorPickerView;
+  private final Handler handler = new Handler(Looper.getMainLooper());
+  private final Runnable replayRunnable = this::replayScheduledEvents;
+  private TouchTrace trace;
+  private OnReplayFinishedListener listener;
+  private int position;
+  private int replayedCount;
+  private long startUptime;
+  private long startNanos;
+  private long downTime;
+  private long startAllocatedBytes;
+  private ColorPickerMetrics metrics;
+  private boolean hasTemporaryMetrics;
+  private ColorPickerMetrics.Snapshot startMetrics;
+
+  public TouchTraceReplayer(@NonNull ColorPickerView colorPickerView) {
+    this.colorPickerView = colorPickerView;
+  }
+
+  /**
+   * replays a trace as fast as possible on the main thread.
+   *
+   * @param trace {@link TouchTrace}.
+   * @return {@link Result}.
+   */
+  @MainThread
+  public @NonNull Result replayImmediately(@NonNull TouchTrace trace) {
+    cancel();
+    begin(trace, null);
+    while (position < trace.size()) {
+      replayEvent(startUptime + trace.getTimeMillis(position));
+      colorPickerView.runPendingDispatch(SystemClock.uptimeMillis());
+    }
+    colorPickerView.runPendingDispatch(Long.MAX_VALUE);
+    return finish();
+  }
+
+  /**
+   * replays a trace at the recorded timing on the main thread.
+   *
+   * @param trace {@link TouchTrace}.
+   * @param listener called with the {@link Result} when the trace has been replayed.
+   */
+  @MainThread
+  public void replay(@NonNull TouchTrace trace, @Nullable OnReplayFinishedListener listener) {
+    cancel();
+    begin(trace, listener);
+    replayScheduledEvents();
+  }
+
+  /** cancels the replay at the recorded timing. */
+  @MainThread
+  public void cancel() {
+    handler.removeCallbacks(replayRunnable);
+    if (trace != null) {
+      restoreMetrics();
+      trace = null;
+      listener = null;
+    }
+  }
+
+  /**
+   * gets whether a trace is being replayed.
+   *
+   * @return true if replaying.
+   */
+  public boolean isReplaying() {
+    return trace != null;
+  }
+
+  private void begin(TouchTrace trace, OnReplayFinishedListener listener) {
+    this.trace = trace;
+    this.listener = listener;
+    this.position = 0;
+    this.replayedCount = 0;
+    this.metrics = colorPickerView.getMetrics();
+    this.hasTemporaryMetrics = metrics == null;
+    if (hasTemporaryMetrics) {
+      metrics = new ColorPickerMetrics();
+      colorPickerView.setMetrics(metrics);
+    }
+    this.startMetrics = metrics.snapshot();
+    this.startUptime = SystemClock.uptimeMillis();
+    this.startNanos = System.nanoTime();
+    this.startAllocatedBytes = AllocationCounter.getAllocatedBytes();
+  }
+
+  private void replayScheduledEvents() {
+    if (trace == null) return;
+    long now = SystemClock.uptimeMillis();
+    while (position < trace.size()) {
+      long eventTime = startUptime + trace.getTimeMillis(position);
+      if (eventTime > now) {
+        handler.postAtTime(replayRunnable, eventTime);
+        return;
+      }
+      replayEvent(eventTime);
+    }
+    if (colorPickerView.hasPendingDispatch()) {
+      long dispatchTime = colorPickerView.getPendingDispatchUptime();
+      if (dispatchTime > now) {
+        handler.postAtTime(replayRunnable, dispatchTime);
+        return;
+      }
+      colorPickerView.runPendingDispatch(now);
+    }
+    OnReplayFinishedListener listener = this.listener;
+    Result result = finish();
+    if (listener != null) listener.onReplayFinished(result);
+  }
+
+  private void replayEvent(long eventTime) {
+    int index = position++;
+    View target = TouchTraceRecorder.findTarget(colorPickerView, trace.getTarget(index));
+    if (target == null) return;
+    int action = trace.getAction(index);
+    if (action == TouchTrace.ACTION_DOWN) downTime = eventTime;
+    MotionEvent event =
+        MotionEvent.obtain(
+            downTime, eventTime, action, trace.getX(index), trace.getY(index), /* metaState= */ 0);
+    target.dispatchTouchEvent(event);
+    event.recycle();
+    replayedCount++;
+  }
+
+  private Result finish() {
+    long elapsedNanos = System.nanoTime() - startNanos;
+    long endAllocatedBytes = AllocationCounter.getAllocatedBytes();
+    long allocatedBytes =
+        startAllocatedBytes == Result.UNKNOWN || endAllocatedBytes == Result.UNKNOWN
+            ? Result.UNKNOWN
+            : endAllocatedBytes - startAllocatedBytes;
+    ColorPickerMetrics.Snapshot endMetrics = metrics.snapshot();
+    Result result =
+        new Result(
+            replayedCount,
+            elapsedNanos,
+            count(endMetrics, ColorPickerMetrics.Counter.DISPATCHES),
+            count(endMetrics, ColorPickerMetrics.Counter.COALESCED),
+            allocatedBytes,
+            colorPickerView.snapshot());
+    restoreMetrics();
+    trace = null;
+    listener = null;
+    return result;
+  }
+
+  private long count(ColorPickerMetrics.Snapshot endMetrics, ColorPickerMetrics.Counter counter) {
+    return endMetrics.getCount(counter) - startMetrics.getCount(counter);
+  }
+
+  private void restoreMetrics() {
+    if (hasTemporaryMetrics && colorPickerView.getMetrics() == metrics) {
+      colorPickerView.setMetrics(null);
+    }
+    hasTemporaryMetrics = false;
+    metrics = null;
+  }
+
+  /** Result is the report of a replayed {@link TouchTrace}. */
+  public static class Result {
+
+    /** the allocated bytes are unknown if the runtime does not count the thread allocations. */
+    public static final long UNKNOWN = -1L;
+
+    private final int eventCount;
+    private final long elapsedNanos;
+    private final long dispatchCount;
+    private final long coalescedCount;
+    private final long allocatedBytes;
+    private final ColorPickerSnapshot finalState;
+
+    private Result(
+        int eventCount,
+        long elapsedNanos,
+        long dispatchCount,
+        long coalescedCount,
+        long allocatedBytes,
+        ColorPickerSnapshot finalState) {
+      this.eventCount = eventCount;
+      this.elapsedNanos = elapsedNanos;
+      this.dispatchCount = dispatchCount;
+      this.coalescedCount = coalescedCount;
+      this.allocatedBytes = allocatedBytes;
+      this.finalState = finalState;
+    }
+
+    /** gets the number of the replayed events. */
+    public int getEventCount() {
+      return eventCount;
+    }
+
+    /** gets the time spent replaying in nanoseconds. */
+    public long getElapsedNanos() {
+      return elapsedNanos;
+    }
+
+    /** gets the number of the replayed events per second. */
+    public double getEventsPerSecond() {
+      return elapsedNanos == 0 ? 0 : eventCount * 1_000_000_000d / elapsedNanos;
+    }
+
+    /** gets the number of the color listener invocations while replaying. */
+    public long getDispatchCount() {
+      return dispatchCount;
+    }
+
+    /** gets the number of the color changes coalesced by the debounce or the throttle. */
+    public long getCoalescedCount() {
+      return coalescedCount;
+    }
+
+    /** gets the bytes allocated on the main thread while replaying or {@link #UNKNOWN}. */
+    public long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+
+    /** gets the bytes allocated on the main thread per replayed event or {@link #UNKNOWN}. */
+    public double getAllocatedBytesPerEvent() {
+      if (allocatedBytes == UNKNOWN) return UNKNOWN;
+      return eventCount == 0 ? 0 : (double) allocatedBytes / eventCount;
+    }
+
+    /** gets the state of the {@link ColorPickerView} after replaying. */
+    public @NonNull ColorPickerSnapshot getFinalState() {
+      return finalState;
+    }
+  }
+
+  /**
+   * AllocationCounter reads the bytes allocated by the current thread from the {@code
+   * com.sun.management.ThreadMXBean} of the JVM which runs the unit tests.
+   */
+  private static final class AllocationCounter {
+
+    private static final com.sun.management.ThreadMXBean threadBean = findThreadBean();
+
+    private AllocationCounter() {}
+
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+      ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+      if (!(bean instanceof com.sun.management.ThreadMXBean)) return null;
+      com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+      if (!threadBean.isThreadAllocatedMemorySupported()) return null;
+      threadBean.setThreadAllocatedMemoryEnabled(true);
+      return threadBean;
+    }
+
+    static long getAllocatedBytes() {
+      if (threadBean == null) return Result.UNKNOWN;
+      long bytes = threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+      return bytes < 0 ? Result.UNKNOWN : bytes;
+    }
+  }
+}